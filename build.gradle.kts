@@ -23,12 +23,12 @@ dependencies {
 	forge(libs.forge)
 
 	api(libs.mixbox)
-	api(libs.word.wrap)
 	api(libs.guava.mini)
 
 	include(libs.mixbox)
-	include(libs.word.wrap)
 	include(libs.guava.mini)
+
+	testImplementation(libs.junit)
 }
 
 java {
@@ -47,6 +47,10 @@ tasks {
 		}
 	}
 
+	test {
+		useJUnitPlatform()
+	}
+
 	jar {
 		from("LICENSE") {
 			rename { "${it}_${base.archivesName}" }
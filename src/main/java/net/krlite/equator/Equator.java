@@ -1,8 +1,15 @@
 package net.krlite.equator;
 
+import net.krlite.equator.render.IconAtlas;
+import net.krlite.equator.render.ShaderManager;
+import net.krlite.equator.render.base.BlockMesh;
+import net.krlite.equator.render.base.CachedLayer;
+import net.krlite.equator.render.base.GlyphMesh;
+import net.krlite.equator.visual.text.Section;
 import net.minecraftforge.fml.IExtensionPoint;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.fml.loading.FMLLoader;
 import net.minecraftforge.network.NetworkConstants;
 import org.slf4j.Logger;
@@ -21,6 +28,12 @@ public class Equator {
 	public Equator() {
 		if (FMLLoader.getDist().isClient()) {
 			ModLoadingContext.get().registerExtensionPoint(IExtensionPoint.DisplayTest.class, () -> new IExtensionPoint.DisplayTest(() -> NetworkConstants.IGNORESERVERONLY, (a, b) -> true));
+			FMLJavaModLoadingContext.get().getModEventBus().addListener(ShaderManager::registerShaders);
+			FMLJavaModLoadingContext.get().getModEventBus().addListener(BlockMesh::registerReloadListeners);
+			FMLJavaModLoadingContext.get().getModEventBus().addListener(IconAtlas::registerReloadListeners);
+			FMLJavaModLoadingContext.get().getModEventBus().addListener(CachedLayer::registerReloadListeners);
+			FMLJavaModLoadingContext.get().getModEventBus().addListener(Section::registerReloadListeners);
+			FMLJavaModLoadingContext.get().getModEventBus().addListener(GlyphMesh::registerReloadListeners);
 		} else if (FMLLoader.getDist().isDedicatedServer()) {
 			throw new RuntimeException("Equator can only run on the client!");
 		}
@@ -3,6 +3,7 @@ package net.krlite.equator.input;
 import net.krlite.equator.Equator;
 import net.krlite.equator.math.geometry.flat.Box;
 import net.krlite.equator.math.geometry.flat.Vector;
+import net.krlite.equator.render.frame.FrameInfo;
 import net.minecraft.client.MinecraftClient;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.eventbus.api.Event;
@@ -297,11 +298,14 @@ public class Window {
 
 			@Override
 			public void invoke(long window, int width, int height) {
+				FrameInfo.invalidate();
 				MinecraftForge.EVENT_BUS.post(new Callbacks.Resize(Box.fromCartesian(width, height).fitFromScreen()));
 
 				if (delegate != null) {
 					delegate.invoke(window, width, height);
 				}
+
+				FrameInfo.invalidate(); // The delegate may have rescaled the window
 			}
 		};
 
@@ -314,11 +318,14 @@ public class Window {
 
 			@Override
 			public void invoke(long window, float xScaling, float yScaling) {
+				FrameInfo.invalidate();
 				MinecraftForge.EVENT_BUS.post(new Callbacks.ContentScale(xScaling, yScaling));
 
 				if (delegate != null) {
 					delegate.invoke(window, xScaling, yScaling);
 				}
+
+				FrameInfo.invalidate(); // The delegate may have rescaled the window
 			}
 		};
 
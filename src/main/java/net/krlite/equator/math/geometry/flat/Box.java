@@ -361,8 +361,8 @@ public record Box(Vector origin, Vector size) implements Convertible.Scaled<Box>
 	 */
 	public boolean intersects(Box another) {
 		return !(Theory.isZero(area()) || Theory.isZero(another.area()) ||
-						 (Theory.looseGreater(left(), another.right()) && Theory.looseGreater(another.left(), right())) ||
-						 (Theory.looseGreater(bottom(), another.top()) && Theory.looseGreater(another.bottom(), top())));
+						 Theory.looseGreater(left(), another.right()) || Theory.looseGreater(another.left(), right()) ||
+						 Theory.looseGreater(top(), another.bottom()) || Theory.looseGreater(another.top(), bottom()));
 	}
 
 	// Operations
@@ -0,0 +1,59 @@
+package net.krlite.equator.mixin.client;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import net.krlite.equator.render.base.RenderState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mirrors the capabilities set through the GlStateManager into the {@link RenderState}.
+ */
+@Mixin(value = GlStateManager.class, remap = false)
+public class GlStateManagerMixin {
+	@Inject(method = "_enableBlend", at = @At("HEAD"))
+	private static void enableBlend(CallbackInfo ci) {
+		RenderState.trackBlend(true);
+	}
+
+	@Inject(method = "_disableBlend", at = @At("HEAD"))
+	private static void disableBlend(CallbackInfo ci) {
+		RenderState.trackBlend(false);
+	}
+
+	@Inject(method = "_enableCull", at = @At("HEAD"))
+	private static void enableCull(CallbackInfo ci) {
+		RenderState.trackCull(true);
+	}
+
+	@Inject(method = "_disableCull", at = @At("HEAD"))
+	private static void disableCull(CallbackInfo ci) {
+		RenderState.trackCull(false);
+	}
+
+	@Inject(method = "_enableDepthTest", at = @At("HEAD"))
+	private static void enableDepthTest(CallbackInfo ci) {
+		RenderState.trackDepthTest(true);
+	}
+
+	@Inject(method = "_disableDepthTest", at = @At("HEAD"))
+	private static void disableDepthTest(CallbackInfo ci) {
+		RenderState.trackDepthTest(false);
+	}
+
+	@Inject(method = "_enableScissorTest", at = @At("HEAD"))
+	private static void enableScissorTest(CallbackInfo ci) {
+		RenderState.trackScissorTest(true);
+	}
+
+	@Inject(method = "_disableScissorTest", at = @At("HEAD"))
+	private static void disableScissorTest(CallbackInfo ci) {
+		RenderState.trackScissorTest(false);
+	}
+
+	@Inject(method = "_scissorBox", at = @At("HEAD"))
+	private static void scissorBox(int x, int y, int width, int height, CallbackInfo ci) {
+		RenderState.trackScissorBox(x, y, width, height);
+	}
+}
@@ -4,6 +4,7 @@ import net.krlite.equator.Equator;
 import net.krlite.equator.input.Keyboard;
 import net.krlite.equator.input.Mouse;
 import net.krlite.equator.input.Window;
+import net.krlite.equator.render.frame.FrameInfo;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.RunArgs;
 import org.spongepowered.asm.mixin.Mixin;
@@ -23,6 +24,11 @@ public class MinecraftClientMixin {
 		Window.initCallbacks(MinecraftClient.getInstance().getWindow().getHandle());
 	}
 
+	@Inject(method = "render", at = @At("HEAD"))
+	private void renderHead(boolean bl, CallbackInfo ci) {
+		FrameInfo.invalidate();
+	}
+
 	@Inject(method = "render", at = @At("RETURN"))
 	private void render(boolean bl, CallbackInfo ci) {
 		Equator.updateFrame(System.currentTimeMillis());
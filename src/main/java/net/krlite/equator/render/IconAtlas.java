@@ -0,0 +1,137 @@
+package net.krlite.equator.render;
+
+import net.krlite.equator.Equator;
+import net.krlite.equator.math.geometry.flat.Box;
+import net.krlite.equator.render.base.Batch;
+import net.krlite.equator.render.base.Offscreen;
+import net.krlite.equator.render.renderer.Flat;
+import net.krlite.equator.visual.color.AccurateColor;
+import net.krlite.equator.visual.texture.Texture;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.resource.SynchronousResourceReloader;
+import net.minecraft.util.Identifier;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.opengl.GL11;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <h1>IconAtlas</h1>
+ * Renders static previews of {@link ItemStack}s and {@link BlockState}s into a shared offscreen atlas on first use,
+ * so that they can be drawn as textured {@link Flat.Rectangle}s. As all the icons share one texture, a screen full
+ * of icons is drawn in a single batch instead of one model draw per icon.
+ * <br />
+ * <br />
+ * Item icons are keyed on their NBT, so changes of the appearance such as damage or enchantments render a new icon.
+ * The atlas is cleared on resource reload, and when it runs out of space. The icons are premultiplied, and are
+ * composited accordingly by {@link Batch}.
+ * @see Flat.Item#icon(int)
+ * @see Flat.Block#icon(int)
+ */
+public class IconAtlas {
+	public static final Identifier IDENTIFIER = new Identifier(Equator.ID, "icon_atlas");
+	private static final int SIZE = 1024;
+
+	private record Key(Object subject, @Nullable Object appearance, int size) {
+		/**
+		 * @return	the key to store, which doesn't share the mutable appearance of the stack it was built from.
+		 */
+		private Key stored() {
+			return appearance() instanceof NbtCompound nbt ? new Key(subject(), nbt.copy(), size()) : this;
+		}
+	}
+
+	private static final Map<Key, Texture> ICONS = new HashMap<>();
+	private static @Nullable Framebuffer framebuffer;
+	private static int cursorX = 0, cursorY = 0, shelfHeight = 0;
+
+	/**
+	 * Gets the icon of the given item stack, rendering it on first use.
+	 * @param itemStack	the item stack.
+	 * @param size		the size of the icon in pixels.
+	 * @return	the texture of the icon in the atlas.
+	 */
+	public static Texture item(ItemStack itemStack, int size) {
+		// Looked up with the live NBT, which is copied only when the icon is stored
+		Key key = new Key(itemStack.getItem(), itemStack.getNbt(), size);
+
+		return icon(key, flat -> flat.new Item(itemStack.copy()).render());
+	}
+
+	/**
+	 * Gets the icon of the given block state, rendering it on first use.
+	 * @param blockState	the block state.
+	 * @param color			the tint of the block, or {@code null} if none.
+	 * @param size			the size of the icon in pixels.
+	 * @return	the texture of the icon in the atlas.
+	 */
+	public static Texture block(BlockState blockState, @Nullable AccurateColor color, int size) {
+		return icon(new Key(blockState, color, size), flat -> flat.new Block(blockState, color).render());
+	}
+
+	/**
+	 * Releases all the icons.
+	 */
+	public static void clear() {
+		ICONS.clear();
+		cursorX = cursorY = shelfHeight = 0;
+	}
+
+	public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+		event.registerReloadListener((SynchronousResourceReloader) resourceManager -> clear());
+	}
+
+	private static Texture icon(Key key, Consumer<Flat> renderer) {
+		@Nullable Texture icon = ICONS.get(key);
+		if (icon != null) return icon;
+
+		int size = Math.min(key.size(), SIZE);
+
+		if (cursorX + size > SIZE) {
+			// Starts a new shelf
+			cursorX = 0;
+			cursorY += shelfHeight;
+			shelfHeight = 0;
+		}
+
+		if (cursorY + size > SIZE) {
+			// Draws the pending quads sampling the icons handed out already, before their regions are reused
+			Batch.flush();
+			clear();
+		}
+
+		int x = cursorX, y = cursorY;
+		cursorX += size;
+		shelfHeight = Math.max(shelfHeight, size);
+
+		Box area = Box.fromCartesian(size, size);
+		DrawContext context = new DrawContext(MinecraftClient.getInstance(), MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers());
+
+		Offscreen.drawInto(framebuffer(), x, y, size, size, area, () -> renderer.accept(new Flat(context, 0, area)));
+
+		// The region is stored upside down
+		icon = new Texture(IDENTIFIER, SIZE, SIZE, x, y, size, size).flipY();
+		ICONS.put(key.stored(), icon);
+
+		return icon;
+	}
+
+	private static Framebuffer framebuffer() {
+		if (framebuffer == null) {
+			framebuffer = new SimpleFramebuffer(SIZE, SIZE, true, MinecraftClient.IS_SYSTEM_MAC);
+			framebuffer.setTexFilter(GL11.GL_NEAREST);
+			Offscreen.register(IDENTIFIER, framebuffer);
+		}
+
+		return framebuffer;
+	}
+}
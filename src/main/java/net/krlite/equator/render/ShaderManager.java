@@ -0,0 +1,57 @@
+package net.krlite.equator.render;
+
+import net.krlite.equator.Equator;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.util.Identifier;
+import net.minecraftforge.client.event.RegisterShadersEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * <h1>ShaderManager</h1>
+ * Registers and holds the core shaders shipped by Equator, under {@code assets/equator/shaders/core}.
+ * A shader is {@code null} until the first resource reload has loaded it.
+ */
+public class ShaderManager {
+	private static @Nullable ShaderProgram rectangleGradient, ovalDistanceField;
+
+	/**
+	 * The shader interpolating the four corner colors of a rectangle per fragment in their own colorspace,
+	 * and converting the result to {@link net.krlite.equator.visual.color.Colorspace#RGB}. It reads the local
+	 * coordinates of the rectangle from {@code UV0}.
+	 */
+	public static @Nullable ShaderProgram rectangleGradient() {
+		return rectangleGradient;
+	}
+
+	/**
+	 * The shader evaluating the edges, the arc and the colors of an oval per fragment. It reads the offsets from
+	 * the center of the oval from {@code UV0}.
+	 */
+	public static @Nullable ShaderProgram ovalDistanceField() {
+		return ovalDistanceField;
+	}
+
+	public static void registerShaders(RegisterShadersEvent event) {
+		// Registered separately, so that a shader failing to load doesn't prevent the others
+		try {
+			event.registerShader(
+					new ShaderProgram(event.getResourceProvider(), new Identifier(Equator.ID, "rectangle_gradient"), VertexFormats.POSITION_TEXTURE),
+					shaderProgram -> rectangleGradient = shaderProgram
+			);
+		} catch (IOException ioException) {
+			Equator.LOGGER.error("Failed to load shader rectangle_gradient", ioException);
+		}
+
+		try {
+			event.registerShader(
+					new ShaderProgram(event.getResourceProvider(), new Identifier(Equator.ID, "oval_distance_field"), VertexFormats.POSITION_TEXTURE),
+					shaderProgram -> ovalDistanceField = shaderProgram
+			);
+		} catch (IOException ioException) {
+			Equator.LOGGER.error("Failed to load shader oval_distance_field", ioException);
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package net.krlite.equator.render.base;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <h1>Batch</h1>
+ * Collects the vertices of consecutive {@link Renderable}s which share a {@link Group} into one buffer, and
+ * submits them with a single draw call. Batching is opt-in: outside of a batch, every {@link Renderable} is
+ * drawn immediately as before.
+ * <br />
+ * <br />
+ * Renderables which cannot be batched, such as texts and models, flush the pending vertices before drawing,
+ * so the painting order is always preserved.
+ * @see #batchWith(Runnable)
+ */
+public class Batch {
+	/**
+	 * The render state shared by a run of batched vertices. Vertices of different groups are never merged.
+	 * @param vertexFormat	the vertex format.
+	 * @param shaderProgram	the shader program.
+	 * @param texture		the texture bound to sampler {@code 0}, or {@code null} if none.
+	 * @param blend			whether blending is required.
+	 * @param premultiplied	whether the colors of the texture are premultiplied by their alpha, as the contents of
+	 *                      framebuffers drawn {@link Offscreen offscreen} are.
+	 * @param uniforms		the action setting up the uniforms of the shader program before drawing, or {@code null}
+	 *                      if none. As actions are compared by identity, groups with uniforms are hardly ever merged.
+	 */
+	public record Group(
+			VertexFormat vertexFormat, Supplier<ShaderProgram> shaderProgram, @Nullable Identifier texture, boolean blend,
+			boolean premultiplied, @Nullable Consumer<ShaderProgram> uniforms
+	) {
+		public Group(
+				VertexFormat vertexFormat, Supplier<ShaderProgram> shaderProgram, @Nullable Identifier texture, boolean blend,
+				@Nullable Consumer<ShaderProgram> uniforms
+		) {
+			this(vertexFormat, shaderProgram, texture, blend, texture != null && Offscreen.isPremultiplied(texture), uniforms);
+		}
+
+		public Group(VertexFormat vertexFormat, Supplier<ShaderProgram> shaderProgram, @Nullable Identifier texture, boolean blend) {
+			this(vertexFormat, shaderProgram, texture, blend, null);
+		}
+	}
+
+	/**
+	 * Vertices recorded into a {@link VertexBuffer}, which can be drawn again without rebuilding them.
+	 * @param group			the group of the vertices.
+	 * @param vertexBuffer	the vertex buffer holding the vertices.
+	 * @see #record(Runnable)
+	 */
+	public record Recorded(Group group, VertexBuffer vertexBuffer) {
+		/**
+		 * Draws the recorded vertices.
+		 * @param transform	the transformation applied to the vertices on top of the current model view matrix.
+		 */
+		public void draw(Matrix4f transform) {
+			boolean[] previous = setUp(group());
+
+			vertexBuffer().bind();
+			vertexBuffer().draw(new Matrix4f(RenderSystem.getModelViewMatrix()).mul(transform), RenderSystem.getProjectionMatrix(), RenderSystem.getShader());
+			VertexBuffer.unbind();
+
+			tearDown(group(), previous);
+		}
+
+		public void close() {
+			vertexBuffer().close();
+		}
+	}
+
+	private static final BufferBuilder BUILDER = new BufferBuilder(2048);
+	private static @Nullable Group current;
+	private static int depth = 0;
+	private static @Nullable List<Recorded> recording;
+	private static boolean interrupted = false;
+
+	/**
+	 * @return	{@code true -} if a batch is open.
+	 * <br />	{@code false -} otherwise.
+	 */
+	public static boolean isBatching() {
+		return depth > 0;
+	}
+
+	/**
+	 * Opens a batch. Batches can be nested, the vertices are flushed when the outermost batch ends.
+	 */
+	public static void begin() {
+		depth++;
+	}
+
+	/**
+	 * Closes a batch, flushing the pending vertices if it is the outermost one.
+	 */
+	public static void end() {
+		if (depth <= 0) return;
+
+		depth--;
+
+		if (depth == 0) {
+			submit();
+		}
+	}
+
+	/**
+	 * Runs the given action inside a batch.
+	 * @param action	the action to run, usually rendering several {@link Renderable}s.
+	 */
+	public static void batchWith(Runnable action) {
+		begin();
+
+		try {
+			action.run();
+		} finally {
+			end();
+		}
+	}
+
+	/**
+	 * Renders the given {@link Renderable}s inside a batch.
+	 * @param renderables	the renderables to render.
+	 */
+	public static void batchWith(Renderable... renderables) {
+		batchWith(() -> {
+			for (Renderable renderable : renderables) {
+				renderable.render();
+			}
+		});
+	}
+
+	/**
+	 * @return	{@code true -} if the vertices are being recorded instead of drawn.
+	 * <br />	{@code false -} otherwise.
+	 */
+	public static boolean isRecording() {
+		return recording != null;
+	}
+
+	/**
+	 * Runs the given action, recording the emitted vertices into {@link VertexBuffer}s instead of drawing them.
+	 * <br />
+	 * <br />
+	 * If the action flushes the batch, for example by rendering texts or changing the scissor, the recording is
+	 * interrupted: everything recorded so far is drawn immediately, and the rest of the action is drawn as usual,
+	 * so the painting order is preserved.
+	 * @param action	the action to record.
+	 * @return	the recorded vertices in painting order, which are not drawn yet. {@code null} if the recording was
+	 * 			interrupted, in which case the action has already been drawn.
+	 */
+	public static @Nullable List<Recorded> record(Runnable action) {
+		if (isRecording()) {
+			action.run();
+			return null;
+		}
+
+		flush(); // The pending vertices don't belong to the recording
+		List<Recorded> recorded = new ArrayList<>();
+
+		recording = recorded;
+		interrupted = false;
+		begin();
+
+		try {
+			action.run();
+			submit();
+		} finally {
+			depth--;
+			recording = null;
+		}
+
+		return interrupted ? null : recorded;
+	}
+
+	/**
+	 * Submits the pending vertices, if any. Interrupts the recording, if any.
+	 * @see #record(Runnable)
+	 */
+	public static void flush() {
+		if (isRecording()) {
+			submit();
+
+			List<Recorded> recorded = Objects.requireNonNull(recording);
+			recording = null;
+			interrupted = true;
+
+			for (Recorded chunk : recorded) {
+				chunk.draw(new Matrix4f());
+				chunk.close();
+			}
+		}
+
+		submit();
+	}
+
+	private static void submit() {
+		if (current == null) return;
+
+		Group group = current;
+		current = null;
+
+		if (recording != null) {
+			VertexBuffer vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+
+			vertexBuffer.bind();
+			vertexBuffer.upload(BUILDER.end());
+			VertexBuffer.unbind();
+
+			recording.add(new Recorded(group, vertexBuffer));
+			return;
+		}
+
+		boolean[] previous = setUp(group);
+		BufferRenderer.drawWithGlobalProgram(BUILDER.end());
+		tearDown(group, previous);
+	}
+
+	/**
+	 * Sets up the render state of the given group.
+	 * @return	the capabilities to restore afterwards.
+	 */
+	private static boolean[] setUp(Group group) {
+		boolean[] previous = { RenderState.blend(), RenderState.cull() };
+
+		RenderState.blend(group.blend() || group.premultiplied() || previous[0]);
+
+		if (group.premultiplied()) {
+			Offscreen.premultipliedBlendFunc();
+		} else if (Offscreen.isDrawing()) {
+			Offscreen.blendFunc(); // Other draws may have reset the alpha blending
+		}
+		RenderState.cull(false); // Prevents triangles from being culled
+		RenderState.shader(group.shaderProgram());
+
+		if (group.texture() != null) {
+			RenderSystem.setShaderTexture(0, Objects.requireNonNull(group.texture()));
+		}
+
+		if (group.uniforms() != null && RenderSystem.getShader() != null) {
+			Objects.requireNonNull(group.uniforms()).accept(RenderSystem.getShader());
+		}
+
+		return previous;
+	}
+
+	private static void tearDown(Group group, boolean[] previous) {
+		if (group.premultiplied()) {
+			if (Offscreen.isDrawing()) Offscreen.blendFunc();
+			else RenderSystem.defaultBlendFunc();
+		}
+
+		RenderState.cull(previous[1]);
+		RenderState.blend(previous[0]);
+	}
+
+	/**
+	 * Emits vertices of the given {@link Group} in {@link VertexFormat.DrawMode#QUADS}. The vertices are drawn
+	 * immediately unless a batch is open, in which case they are merged with the pending vertices of the same group.
+	 * @param group		the group of the vertices.
+	 * @param emitter	the emitter which writes the vertices into the buffer.
+	 */
+	@ApiStatus.Internal
+	public static void draw(Group group, Consumer<BufferBuilder> emitter) {
+		if (current != null && !current.equals(group)) {
+			submit();
+		}
+
+		if (current == null) {
+			BUILDER.begin(VertexFormat.DrawMode.QUADS, group.vertexFormat());
+			current = group;
+		}
+
+		emitter.accept(BUILDER);
+
+		if (!isBatching()) {
+			submit();
+		}
+	}
+}
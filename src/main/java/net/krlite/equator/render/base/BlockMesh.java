@@ -0,0 +1,135 @@
+package net.krlite.equator.render.base;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.krlite.equator.visual.color.AccurateColor;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.OverlayTexture;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.RenderLayers;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.resource.SynchronousResourceReloader;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>BlockMesh</h1>
+ * The model of a {@link BlockState} baked once into a GPU vertex buffer, so that previews of the block can be drawn
+ * again with only a matrix update. The meshes are centered at the origin and span a unit cube, and are released on
+ * resource reload.
+ * <br />
+ * <br />
+ * Only blocks of {@link BlockRenderType#MODEL} can be baked, as animated block entities change every frame.
+ */
+public class BlockMesh {
+	private record Key(BlockState blockState, AccurateColor color) {
+	}
+
+	private static final int CACHE_SIZE = 128;
+	// Shared by all the bakes, as the native memory of a builder can't be freed. It grows as needed
+	private static final BufferBuilder BUILDER = new BufferBuilder(256);
+	private static final Map<Key, BlockMesh> MESHES = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, BlockMesh> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().close();
+				return true;
+			}
+
+			return false;
+		}
+	};
+
+	/**
+	 * Gets the baked mesh of the given block state tinted by the given color, baking it on first use.
+	 * @param blockState	the block state.
+	 * @param color			the tint of the model.
+	 * @return	the baked mesh, or {@code null} if the block state can't be baked.
+	 */
+	public static @Nullable BlockMesh of(BlockState blockState, AccurateColor color) {
+		if (blockState.getRenderType() != BlockRenderType.MODEL) return null;
+
+		return MESHES.computeIfAbsent(new Key(blockState, color), key -> bake(key.blockState(), key.color()));
+	}
+
+	/**
+	 * Releases all the baked meshes.
+	 */
+	public static void clear() {
+		MESHES.values().forEach(BlockMesh::close);
+		MESHES.clear();
+	}
+
+	public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+		event.registerReloadListener((SynchronousResourceReloader) resourceManager -> clear());
+	}
+
+	private static BlockMesh bake(BlockState blockState, AccurateColor color) {
+		RenderLayer renderLayer = RenderLayers.getBlockLayer(blockState);
+		BufferBuilder builder = BUILDER;
+		MatrixStack matrixStack = new MatrixStack();
+
+		matrixStack.translate(-0.5, -0.5, -0.5);
+		builder.begin(renderLayer.getDrawMode(), renderLayer.getVertexFormat());
+
+		MinecraftClient.getInstance().getBlockRenderManager().getModelRenderer().render(
+				matrixStack.peek(), builder, blockState,
+				MinecraftClient.getInstance().getBlockRenderManager().getModel(blockState),
+				color.redAsFloat(), color.greenAsFloat(), color.blueAsFloat(),
+				0xF000F0, OverlayTexture.DEFAULT_UV
+		);
+
+		VertexBuffer vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+
+		vertexBuffer.bind();
+		vertexBuffer.upload(builder.end());
+		VertexBuffer.unbind();
+
+		return new BlockMesh(renderLayer, vertexBuffer);
+	}
+
+	// Constructors
+
+	private BlockMesh(RenderLayer renderLayer, VertexBuffer vertexBuffer) {
+		this.renderLayer = renderLayer;
+		this.vertexBuffer = vertexBuffer;
+	}
+
+	// Fields
+
+	private final RenderLayer renderLayer;
+	private final VertexBuffer vertexBuffer;
+
+	// Accessors
+
+	public RenderLayer renderLayer() {
+		return renderLayer;
+	}
+
+	// Interface Implementations
+
+	/**
+	 * Draws the mesh with the render state of its {@link RenderLayer}.
+	 * @param transform	the transformation applied to the unit cube on top of the current model view matrix.
+	 */
+	public void draw(Matrix4f transform) {
+		renderLayer().startDrawing();
+
+		vertexBuffer.bind();
+		vertexBuffer.draw(new Matrix4f(RenderSystem.getModelViewMatrix()).mul(transform), RenderSystem.getProjectionMatrix(), RenderSystem.getShader());
+		VertexBuffer.unbind();
+
+		renderLayer().endDrawing();
+	}
+
+	private void close() {
+		vertexBuffer.close();
+	}
+}
@@ -0,0 +1,206 @@
+package net.krlite.equator.render.base;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.krlite.equator.math.geometry.flat.Box;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.*;
+import net.minecraft.resource.SynchronousResourceReloader;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.*;
+
+/**
+ * <h1>CachedLayer</h1>
+ * Renders a composite {@link Renderable} into an offscreen framebuffer sized to its {@link Box}, and draws the
+ * result as a single textured quad afterwards. The renderable is rendered again only when the inputs change, when
+ * the layer is {@link #markDirty() marked dirty}, or when the pixel size of the box changes.
+ * <br />
+ * <br />
+ * Unlike {@link Retained}, any renderable can be cached, including texts and models. The renderable is rendered
+ * without the transformation of the matrix stack, which is applied to the quad instead. As scissors are fitted to the
+ * window, renderables relying on them, such as culled texts, are not clipped inside the layer.
+ * <br />
+ * <br />
+ * The layer is composited with premultiplied alpha, thus the alpha must be blended separately inside it. The
+ * renderers of this library do so through {@link Offscreen#blendFunc()} while drawing offscreen. Content drawn
+ * directly through vanilla may reset the blend function, and should be drawn before any such renderer, or not be
+ * cached at all.
+ * @see Offscreen
+ */
+public class CachedLayer implements Renderable {
+	private static class Layer {
+		private final Framebuffer framebuffer;
+		private boolean dirty = true;
+
+		private Layer(int width, int height) {
+			this.framebuffer = new SimpleFramebuffer(width, height, true, MinecraftClient.IS_SYSTEM_MAC);
+		}
+
+		private boolean fits(int width, int height) {
+			return framebuffer.textureWidth == width && framebuffer.textureHeight == height;
+		}
+
+		private void close() {
+			framebuffer.delete();
+		}
+	}
+
+	private static final int CACHE_SIZE = 16;
+	private static final Map<List<Object>, Layer> LAYERS = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, Layer> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().close();
+				return true;
+			}
+
+			return false;
+		}
+	};
+
+	/**
+	 * Marks all the layers dirty, so that they are rendered again on next use.
+	 */
+	public static void markAllDirty() {
+		LAYERS.values().forEach(layer -> layer.dirty = true);
+	}
+
+	/**
+	 * Releases all the layers.
+	 */
+	public static void clear() {
+		LAYERS.values().forEach(Layer::close);
+		LAYERS.clear();
+	}
+
+	public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+		event.registerReloadListener((SynchronousResourceReloader) resourceManager -> markAllDirty());
+	}
+
+	// Constructors
+
+	public CachedLayer(DrawContext context, Box box, Renderable renderable, Object... inputs) {
+		this.context = context;
+		this.box = box;
+		this.renderable = renderable;
+
+		List<Object> key = new ArrayList<>(inputs.length + 2);
+		key.add(renderable.getClass());
+		key.add(box.size());
+		key.addAll(Arrays.asList(inputs));
+		this.key = Collections.unmodifiableList(key);
+	}
+
+	// Fields
+
+	private final DrawContext context;
+	private final Box box;
+	private final Renderable renderable;
+	private final List<Object> key;
+
+	// Accessors
+
+	public DrawContext context() {
+		return context;
+	}
+
+	public Box box() {
+		return box;
+	}
+
+	public Renderable renderable() {
+		return renderable;
+	}
+
+	public List<Object> key() {
+		return key;
+	}
+
+	// Mutators
+
+	/**
+	 * Marks the layer dirty, so that the renderable is rendered again on next use.
+	 */
+	public void markDirty() {
+		@Nullable Layer layer = LAYERS.get(key());
+
+		if (layer != null) {
+			layer.dirty = true;
+		}
+	}
+
+	// Interface Implementations
+
+	@Override
+	public boolean isRenderable() {
+		return Renderable.isLegal(box()) && renderable().isRenderable();
+	}
+
+	@Override
+	public void render() {
+		if (!isRenderable()) return;
+
+		if (Batch.isRecording() || Offscreen.isDrawing()) {
+			renderable().render(); // Drawn into the outer layer
+			return;
+		}
+
+		double scaleFactor = MinecraftClient.getInstance().getWindow().getScaleFactor();
+		int width = (int) Math.ceil(box().w() * scaleFactor), height = (int) Math.ceil(box().h() * scaleFactor);
+		@Nullable Layer layer = LAYERS.get(key());
+
+		if (layer == null || !layer.fits(width, height)) {
+			if (layer != null) layer.close();
+
+			layer = new Layer(width, height);
+			LAYERS.put(key(), layer);
+		}
+
+		if (layer.dirty) {
+			context().getMatrices().push();
+			context().getMatrices().loadIdentity(); // The matrix stack is applied to the quad
+
+			try {
+				// Keeps the alpha of the layer, so that the colors are premultiplied
+				Offscreen.drawInto(layer.framebuffer, 0, 0, width, height, box(), () -> {
+					Offscreen.blendFunc();
+					renderable().render();
+				});
+			} finally {
+				RenderSystem.defaultBlendFunc();
+				context().getMatrices().pop();
+			}
+
+			layer.dirty = false;
+		}
+
+		Batch.flush();
+		drawLayer(layer);
+	}
+
+	private void drawLayer(Layer layer) {
+		Matrix4f matrix = context().getMatrices().peek().getPositionMatrix();
+		BufferBuilder builder = Tessellator.getInstance().getBuffer();
+
+		RenderState.blend(true);
+		Offscreen.premultipliedBlendFunc();
+		RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+		RenderSystem.setShaderTexture(0, layer.framebuffer.getColorAttachment());
+		RenderSystem.setShaderColor(1, 1, 1, 1);
+
+		// The layer is stored upside down
+		builder.begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+		builder.vertex(matrix, (float) box().left(), (float) box().top(), 0).texture(0, 1).next();
+		builder.vertex(matrix, (float) box().left(), (float) box().bottom(), 0).texture(0, 0).next();
+		builder.vertex(matrix, (float) box().right(), (float) box().bottom(), 0).texture(1, 0).next();
+		builder.vertex(matrix, (float) box().right(), (float) box().top(), 0).texture(1, 1).next();
+		BufferRenderer.drawWithGlobalProgram(builder.end());
+
+		RenderSystem.defaultBlendFunc();
+	}
+}
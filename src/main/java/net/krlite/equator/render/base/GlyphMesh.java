@@ -0,0 +1,143 @@
+package net.krlite.equator.render.base;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.resource.SynchronousResourceReloader;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <h1>GlyphMesh</h1>
+ * The glyph quads of a static text captured once into GPU vertex buffers, one per {@link RenderLayer} the glyphs
+ * are drawn with, so that the text can be drawn again with only a matrix update instead of being laid out and
+ * emitted glyph by glyph every frame. The shadows are captured along with the glyphs.
+ * <br />
+ * <br />
+ * The meshes are released on resource reload, as the glyphs move in the font atlases. Capturing costs more than
+ * emitting the glyphs directly, thus meshes are meant for inputs that stay the same over many frames.
+ * @see net.krlite.equator.visual.text.TextLayout#emit
+ */
+public class GlyphMesh {
+	private record Part(RenderLayer renderLayer, VertexBuffer vertexBuffer) {
+	}
+
+	private static final int CACHE_SIZE = 512; // Enough for the labels of several screens
+	// Reused by all the captures, as the native memory of a builder can't be freed. The text layers are one per font
+	// atlas, so there are only a few of them
+	private static final Map<RenderLayer, BufferBuilder> BUILDERS = new HashMap<>();
+	private static final Map<List<Object>, GlyphMesh> MESHES = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, GlyphMesh> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().close();
+				return true;
+			}
+
+			return false;
+		}
+	};
+
+	/**
+	 * Gets the mesh of the given key, capturing it on first use.
+	 * @param key		the key of the mesh, which must cover everything the emitted quads depend on, such as the text,
+	 *                  its style, its color and the font.
+	 * @param emitter	emits the quads into the given vertex consumers, relative to the origin of the mesh.
+	 * @return	the captured mesh.
+	 */
+	public static GlyphMesh of(List<Object> key, Consumer<VertexConsumerProvider> emitter) {
+		return MESHES.computeIfAbsent(key, k -> capture(emitter));
+	}
+
+	/**
+	 * Releases all the captured meshes.
+	 */
+	public static void clear() {
+		MESHES.values().forEach(GlyphMesh::close);
+		MESHES.clear();
+	}
+
+	public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+		event.registerReloadListener((SynchronousResourceReloader) resourceManager -> clear());
+	}
+
+	private static GlyphMesh capture(Consumer<VertexConsumerProvider> emitter) {
+		Map<RenderLayer, BufferBuilder> builders = new LinkedHashMap<>();
+
+		emitter.accept(renderLayer -> builders.computeIfAbsent(renderLayer, key -> {
+			BufferBuilder builder = BUILDERS.computeIfAbsent(key, layer -> new BufferBuilder(layer.getExpectedBufferSize()));
+			builder.begin(key.getDrawMode(), key.getVertexFormat());
+			return builder;
+		}));
+
+		List<Part> parts = new ArrayList<>(builders.size());
+
+		builders.forEach((renderLayer, builder) -> {
+			BufferBuilder.BuiltBuffer builtBuffer = builder.end();
+
+			if (builtBuffer.getParameters().indexCount() == 0) {
+				builtBuffer.release();
+				return;
+			}
+
+			VertexBuffer vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+
+			vertexBuffer.bind();
+			vertexBuffer.upload(builtBuffer);
+			VertexBuffer.unbind();
+
+			parts.add(new Part(renderLayer, vertexBuffer));
+		});
+
+		return new GlyphMesh(parts);
+	}
+
+	// Constructors
+
+	private GlyphMesh(List<Part> parts) {
+		this.parts = parts;
+	}
+
+	// Fields
+
+	private final List<Part> parts;
+
+	// Properties
+
+	public boolean isEmpty() {
+		return parts.isEmpty();
+	}
+
+	// Interface Implementations
+
+	/**
+	 * Draws the mesh with the render states of its {@link RenderLayer}s, in the order the quads were emitted.
+	 * @param transform	the transformation applied to the mesh on top of the current model view matrix.
+	 */
+	public void draw(Matrix4f transform) {
+		Matrix4f modelView = new Matrix4f(RenderSystem.getModelViewMatrix()).mul(transform);
+
+		for (Part part : parts) {
+			part.renderLayer().startDrawing();
+
+			part.vertexBuffer().bind();
+			part.vertexBuffer().draw(modelView, RenderSystem.getProjectionMatrix(), RenderSystem.getShader());
+			VertexBuffer.unbind();
+
+			part.renderLayer().endDrawing();
+		}
+	}
+
+	private void close() {
+		parts.forEach(part -> part.vertexBuffer().close());
+	}
+}
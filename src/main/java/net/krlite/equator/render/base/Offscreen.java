@@ -0,0 +1,184 @@
+package net.krlite.equator.render.base;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.systems.VertexSorter;
+import net.krlite.equator.math.geometry.flat.Box;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.texture.AbstractTexture;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <h1>Offscreen</h1>
+ * Redirects rendering into a region of a {@link Framebuffer}, so that the result can be drawn again as a texture.
+ * Offscreen drawings can be nested, the previous target is restored afterwards.
+ * <br />
+ * <br />
+ * Scissors are fitted to the window, thus they shouldn't be enabled while drawing offscreen.
+ */
+public class Offscreen {
+	/**
+	 * A region of a framebuffer being drawn into.
+	 * @param framebuffer	the framebuffer.
+	 * @param viewport		the region in pixels, as {@code [x, y, width, height]} with the origin at the bottom left.
+	 */
+	private record Target(Framebuffer framebuffer, int[] viewport) {
+		private void bind() {
+			framebuffer().beginWrite(false);
+			RenderSystem.viewport(viewport()[0], viewport()[1], viewport()[2], viewport()[3]);
+		}
+	}
+
+	/**
+	 * Exposes the color attachment of a {@link Framebuffer} to the texture manager. The framebuffer owns the texture,
+	 * so it is never released through the texture manager.
+	 */
+	private static class FramebufferTexture extends AbstractTexture {
+		private final Framebuffer framebuffer;
+
+		private FramebufferTexture(Framebuffer framebuffer) {
+			this.framebuffer = framebuffer;
+		}
+
+		@Override
+		public void load(ResourceManager manager) {
+		}
+
+		@Override
+		public int getGlId() {
+			return framebuffer.getColorAttachment();
+		}
+
+		@Override
+		public void clearGlId() {
+		}
+	}
+
+	private static final Deque<Target> TARGETS = new ArrayDeque<>();
+	private static final Set<Identifier> REGISTERED = new HashSet<>();
+
+	/**
+	 * @return	{@code true -} if rendering is redirected into a framebuffer.
+	 * <br />	{@code false -} otherwise.
+	 */
+	public static boolean isDrawing() {
+		return !TARGETS.isEmpty();
+	}
+
+	/**
+	 * Sets the blend function for translucent content. While drawing offscreen, the alpha is blended separately, so
+	 * that the contents stay premultiplied and can be composited again, as {@link CachedLayer}s do.
+	 */
+	public static void blendFunc() {
+		if (isDrawing()) {
+			RenderSystem.blendFuncSeparate(
+					GlStateManager.SrcFactor.SRC_ALPHA, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA,
+					GlStateManager.SrcFactor.ONE, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA
+			);
+		} else {
+			RenderSystem.blendFunc(GlStateManager.SrcFactor.SRC_ALPHA, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+		}
+	}
+
+	/**
+	 * Sets the blend function for compositing premultiplied content, such as the contents of framebuffers drawn
+	 * offscreen.
+	 * @see #isPremultiplied(Identifier)
+	 */
+	public static void premultipliedBlendFunc() {
+		RenderSystem.blendFunc(GlStateManager.SrcFactor.ONE, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+	}
+
+	/**
+	 * @return	{@code true -} if the texture of the given identifier is a {@link #register(Identifier, Framebuffer)
+	 * 			registered} framebuffer, whose colors are premultiplied by their alpha.
+	 * <br />	{@code false -} otherwise.
+	 */
+	public static boolean isPremultiplied(Identifier identifier) {
+		return REGISTERED.contains(identifier);
+	}
+
+	/**
+	 * Registers the color attachment of the given framebuffer as a texture, so that it can be sampled through
+	 * {@link net.krlite.equator.visual.texture.Texture}s. Registering again replaces the previous framebuffer. As
+	 * contents are drawn offscreen with {@link #blendFunc()}, the texture is composited as premultiplied.
+	 * @param identifier	the identifier of the texture.
+	 * @param framebuffer	the framebuffer.
+	 */
+	public static void register(Identifier identifier, Framebuffer framebuffer) {
+		MinecraftClient.getInstance().getTextureManager().registerTexture(identifier, new FramebufferTexture(framebuffer));
+		REGISTERED.add(identifier);
+	}
+
+	/**
+	 * Runs the given action, drawing into a region of the given framebuffer instead of the current target. The region
+	 * is cleared first. Its contents are stored upside down, so textures sampling them should be flipped vertically.
+	 * @param framebuffer	the framebuffer to draw into.
+	 * @param x				the left of the region in pixels.
+	 * @param y				the bottom of the region in pixels.
+	 * @param width			the width of the region in pixels.
+	 * @param height		the height of the region in pixels.
+	 * @param area			the area in the scaled coordinate which is mapped onto the region.
+	 * @param action		the action to run.
+	 */
+	public static void drawInto(Framebuffer framebuffer, int x, int y, int width, int height, Box area, Runnable action) {
+		// Queued vertices belong to the previous target, as draw contexts share the entity vertex consumers
+		Batch.flush();
+		MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers().draw();
+
+		Matrix4f projection = new Matrix4f(RenderSystem.getProjectionMatrix());
+		VertexSorter vertexSorter = RenderSystem.getVertexSorting();
+		boolean scissorTest = RenderState.scissorTest();
+		int[] scissorBox = RenderState.scissorBox();
+
+		Target target = new Target(framebuffer, new int[] { x, y, width, height });
+		TARGETS.push(target);
+		target.bind();
+
+		RenderState.scissor(x, y, width, height);
+		RenderSystem.clearColor(0, 0, 0, 0);
+		RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT, MinecraftClient.IS_SYSTEM_MAC);
+		RenderState.disableScissor();
+
+		RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(
+				(float) area.left(), (float) area.right(), (float) area.bottom(), (float) area.top(), 1000, 21000
+		), VertexSorter.BY_Z);
+		RenderSystem.getModelViewStack().push();
+		RenderSystem.getModelViewStack().loadIdentity();
+		RenderSystem.getModelViewStack().translate(0, 0, -11000);
+		RenderSystem.applyModelViewMatrix();
+
+		try {
+			action.run();
+			Batch.flush();
+			MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers().draw();
+		} finally {
+			RenderSystem.getModelViewStack().pop();
+			RenderSystem.applyModelViewMatrix();
+			RenderSystem.setProjectionMatrix(projection, vertexSorter);
+
+			TARGETS.poll();
+			@Nullable Target previous = TARGETS.peek();
+
+			if (previous == null) {
+				MinecraftClient.getInstance().getFramebuffer().beginWrite(true);
+			} else {
+				previous.bind();
+			}
+
+			if (scissorTest) {
+				RenderState.scissor(scissorBox[0], scissorBox[1], scissorBox[2], scissorBox[3]);
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package net.krlite.equator.render.base;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.gl.ShaderProgram;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * <h1>RenderState</h1>
+ * Mirrors the render state set through {@link com.mojang.blaze3d.platform.GlStateManager}, so that it can be read
+ * without querying OpenGL, and redundant {@link RenderSystem} calls can be skipped. The capabilities are tracked
+ * from the state manager itself, thus changes made by any other code are reflected as well.
+ */
+public class RenderState {
+	private static boolean blend = false, cull = false, depthTest = false, scissorTest = false;
+	private static final int[] scissorBox = new int[4];
+
+	// Accessors
+
+	public static boolean blend() {
+		return blend;
+	}
+
+	public static boolean cull() {
+		return cull;
+	}
+
+	public static boolean depthTest() {
+		return depthTest;
+	}
+
+	public static boolean scissorTest() {
+		return scissorTest;
+	}
+
+	/**
+	 * @return	a copy of the scissor box in the {@link net.krlite.equator.render.frame.FrameInfo.Convertor OpenGL Coordinate},
+	 * 			as {@code [x, y, width, height]}.
+	 */
+	public static int[] scissorBox() {
+		return scissorBox.clone();
+	}
+
+	// Mutators
+
+	public static void blend(boolean blend) {
+		if (blend == RenderState.blend) return;
+
+		if (blend) RenderSystem.enableBlend();
+		else RenderSystem.disableBlend();
+	}
+
+	public static void cull(boolean cull) {
+		if (cull == RenderState.cull) return;
+
+		if (cull) RenderSystem.enableCull();
+		else RenderSystem.disableCull();
+	}
+
+	public static void depthTest(boolean depthTest) {
+		if (depthTest == RenderState.depthTest) return;
+
+		if (depthTest) RenderSystem.enableDepthTest();
+		else RenderSystem.disableDepthTest();
+	}
+
+	/**
+	 * Enables the scissor test with the given box in the
+	 * {@link net.krlite.equator.render.frame.FrameInfo.Convertor OpenGL Coordinate}.
+	 */
+	public static void scissor(int x, int y, int width, int height) {
+		if (scissorTest && scissorBox[0] == x && scissorBox[1] == y && scissorBox[2] == width && scissorBox[3] == height) return;
+
+		RenderSystem.enableScissor(x, y, width, height);
+	}
+
+	public static void disableScissor() {
+		if (!scissorTest) return;
+
+		RenderSystem.disableScissor();
+	}
+
+	public static void shader(Supplier<ShaderProgram> shaderProgram) {
+		@Nullable ShaderProgram program = shaderProgram.get();
+		if (program != null && program == RenderSystem.getShader()) return;
+
+		RenderSystem.setShader(() -> program);
+	}
+
+	// Tracking
+
+	@ApiStatus.Internal
+	public static void trackBlend(boolean blend) {
+		RenderState.blend = blend;
+	}
+
+	@ApiStatus.Internal
+	public static void trackCull(boolean cull) {
+		RenderState.cull = cull;
+	}
+
+	@ApiStatus.Internal
+	public static void trackDepthTest(boolean depthTest) {
+		RenderState.depthTest = depthTest;
+	}
+
+	@ApiStatus.Internal
+	public static void trackScissorTest(boolean scissorTest) {
+		RenderState.scissorTest = scissorTest;
+	}
+
+	@ApiStatus.Internal
+	public static void trackScissorBox(int x, int y, int width, int height) {
+		scissorBox[0] = x;
+		scissorBox[1] = y;
+		scissorBox[2] = width;
+		scissorBox[3] = height;
+	}
+}
@@ -0,0 +1,126 @@
+package net.krlite.equator.render.base;
+
+import net.krlite.equator.math.algebra.Theory;
+import net.minecraft.client.gui.DrawContext;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.*;
+
+/**
+ * <h1>Retained</h1>
+ * Wraps a {@link Renderable} whose vertices rarely change, recording them once into GPU vertex buffers and
+ * redrawing them with only a matrix update afterwards. The vertices are recorded again only when the inputs
+ * change.
+ * <br />
+ * <br />
+ * The inputs must identify the vertices completely, for example the {@link net.krlite.equator.math.geometry.flat.Box},
+ * the colors, the {@link net.krlite.equator.visual.texture.Texture} and the mode of a rectangle. Moving the matrix
+ * stack doesn't require recording again. Renderables which can't be recorded, such as texts, are simply rendered.
+ * @see Batch#record(Runnable)
+ */
+public class Retained implements Renderable {
+	private record Entry(@Nullable List<Batch.Recorded> recorded, Matrix4f inverse) {
+		private void close() {
+			if (recorded() != null) {
+				recorded().forEach(Batch.Recorded::close);
+			}
+		}
+	}
+
+	private static final int CACHE_SIZE = 64;
+	private static final Map<List<Object>, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().close();
+				return true;
+			}
+
+			return false;
+		}
+	};
+
+	/**
+	 * Releases all the recorded vertex buffers.
+	 */
+	public static void clear() {
+		ENTRIES.values().forEach(Entry::close);
+		ENTRIES.clear();
+	}
+
+	// Constructors
+
+	public Retained(DrawContext context, Renderable renderable, Object... inputs) {
+		this.context = context;
+		this.renderable = renderable;
+
+		List<Object> key = new ArrayList<>(inputs.length + 1);
+		key.add(renderable.getClass());
+		key.addAll(Arrays.asList(inputs));
+		this.key = Collections.unmodifiableList(key);
+	}
+
+	// Fields
+
+	private final DrawContext context;
+	private final Renderable renderable;
+	private final List<Object> key;
+
+	// Accessors
+
+	public DrawContext context() {
+		return context;
+	}
+
+	public Renderable renderable() {
+		return renderable;
+	}
+
+	public List<Object> key() {
+		return key;
+	}
+
+	// Interface Implementations
+
+	@Override
+	public boolean isRenderable() {
+		return renderable().isRenderable();
+	}
+
+	@Override
+	public void render() {
+		if (!isRenderable()) return;
+
+		if (Batch.isRecording()) {
+			renderable().render(); // Recorded into the outer retained renderable
+			return;
+		}
+
+		Matrix4f matrix = context().getMatrices().peek().getPositionMatrix();
+		@Nullable Entry entry = ENTRIES.get(key());
+
+		if (entry == null) {
+			if (Math.abs(matrix.determinant()) < Theory.EPSILON) {
+				// Can't be mapped back from a singular matrix, such as a zero scale, thus is not cached
+				renderable().render();
+				return;
+			}
+
+			List<Batch.Recorded> recorded = Batch.record(renderable()::render); // Drawn already if interrupted
+			ENTRIES.put(key(), new Entry(recorded, new Matrix4f(matrix).invert()));
+
+			if (recorded != null) {
+				recorded.forEach(chunk -> chunk.draw(new Matrix4f()));
+			}
+		} else if (entry.recorded() == null) {
+			renderable().render();
+		} else {
+			Batch.flush();
+
+			// The vertices were transformed by the matrix at the time of recording
+			Matrix4f transform = new Matrix4f(matrix).mul(entry.inverse());
+			entry.recorded().forEach(chunk -> chunk.draw(transform));
+		}
+	}
+}
@@ -1,9 +1,11 @@
 package net.krlite.equator.render.base;
 
-import com.mojang.blaze3d.systems.RenderSystem;
 import net.krlite.equator.math.geometry.flat.Box;
 import net.minecraft.client.util.math.MatrixStack;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
@@ -41,25 +43,69 @@ public record Scissor(Box box) {
 	}
 
 	/**
-	 * Enables snipping. Note well that the scissor box is automatically fitted to the
+	 * A clip on the scissor stack.
+	 * @param clip		the intersection of the scissor box and all the enclosing ones, in the scaled coordinate.
+	 * @param openGL	the clip fitted to the {@link net.krlite.equator.render.frame.FrameInfo.Convertor OpenGL Coordinate}.
+	 */
+	private record Clip(Box clip, Box openGL) {
+		private Clip(Box clip) {
+			this(clip, clip.fitToOpenGL());
+		}
+
+		private void apply() {
+			RenderState.scissor((int) openGL().x(), (int) openGL().y(), (int) openGL().w(), (int) openGL().h());
+		}
+	}
+
+	private static final Deque<Clip> CLIPS = new ArrayDeque<>();
+
+	/**
+	 * @return	the active clip, that is, the intersection of all the enabled scissors, or {@code null} if no scissor
+	 * 			is enabled.
+	 */
+	public static @Nullable Box clip() {
+		@Nullable Clip clip = CLIPS.peek();
+		return clip == null ? null : clip.clip();
+	}
+
+	/**
+	 * Enables snipping. Scissors can be nested, in which case the inner scissor only snips within the outer ones.
+	 * Note well that the scissor box is automatically fitted to the
 	 * {@link net.krlite.equator.render.frame.FrameInfo.Convertor OpenGL Coordinate}.
 	 */
 	public void snipOn() {
-		// Fits the box to the OpenGL Coordinate
-		Box fitted = box().fitToOpenGL();
-		RenderSystem.enableScissor((int) fitted.x(), (int) fitted.y(), (int) fitted.w(), (int) fitted.h());
+		Batch.flush();
+
+		@Nullable Box outer = clip();
+		Clip clip = new Clip(outer == null ? box() : outer.min(box()));
+
+		CLIPS.push(clip);
+		clip.apply();
 	}
 
 	/**
-	 * Disables snipping.
+	 * Disables snipping, restoring the enclosing scissor if any.
 	 */
 	public void snipOff() {
-		RenderSystem.disableScissor();
+		Batch.flush();
+		CLIPS.poll();
+
+		@Nullable Clip outer = CLIPS.peek();
+
+		if (outer == null) {
+			RenderState.disableScissor();
+		} else {
+			outer.apply();
+		}
 	}
 
 	public void snipWith(Renderable renderable) {
 		snipOn();
-		renderable.render();
-		snipOff();
+
+		try {
+			renderable.render();
+		} finally {
+			snipOff();
+		}
 	}
 }
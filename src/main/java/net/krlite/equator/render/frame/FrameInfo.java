@@ -3,6 +3,7 @@ package net.krlite.equator.render.frame;
 import net.krlite.equator.math.geometry.flat.Box;
 import net.krlite.equator.math.geometry.flat.Vector;
 import net.minecraft.client.MinecraftClient;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 
 /**
@@ -14,19 +15,70 @@ public class FrameInfo {
 		return MinecraftClient.getInstance().getTickDelta();
 	}
 
+	/**
+	 * An immutable snapshot of the window dimensions, captured at most once per frame.
+	 * @param scaled			the scaled size of the window.
+	 * @param screen			the unscaled size of the window.
+	 * @param openGL			the size of the frame.
+	 * @param scaledToScreen	the factor converting lengths in the scaled coordinate to the screen coordinate.
+	 * @param screenToScaled	the factor converting lengths in the screen coordinate to the scaled coordinate.
+	 */
+	public record Snapshot(Box scaled, Box screen, Box openGL, double scaledToScreen, double screenToScaled) {
+		private static Snapshot capture() {
+			Box scaled = new Box(Vector.fromCartesian(MinecraftClient.getInstance().getWindow().getScaledWidth(), MinecraftClient.getInstance().getWindow().getScaledHeight()));
+
+			int[] width = new int[1];
+			int[] height = new int[1];
+			GLFW.glfwGetWindowSize(MinecraftClient.getInstance().getWindow().getHandle(), width, height);
+			Box screen = new Box(Vector.fromCartesian(width[0], height[0]));
+
+			return new Snapshot(
+					scaled, screen, new Box(screen.size().scale(2)),
+					screen.d() / scaled.d(), scaled.d() / screen.d()
+			);
+		}
+
+		private boolean isValid() {
+			// The scaled size can change in the middle of a frame, for example when the GUI scale changes
+			return scaled().w() == MinecraftClient.getInstance().getWindow().getScaledWidth()
+						   && scaled().h() == MinecraftClient.getInstance().getWindow().getScaledHeight();
+		}
+	}
+
+	private static volatile @Nullable Snapshot snapshot;
+
+	/**
+	 * @return	the snapshot of the current frame, which is captured on first access.
+	 */
+	public static Snapshot snapshot() {
+		@Nullable Snapshot snapshot = FrameInfo.snapshot;
+
+		if (snapshot == null || !snapshot.isValid()) {
+			snapshot = Snapshot.capture();
+			FrameInfo.snapshot = snapshot;
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Invalidates the snapshot, so that it is captured again on next access. Called at the beginning of every frame,
+	 * and whenever the window is resized or rescaled.
+	 */
+	public static void invalidate() {
+		snapshot = null;
+	}
+
 	public static Box scaled() {
-		return new Box(Vector.fromCartesian(MinecraftClient.getInstance().getWindow().getScaledWidth(), MinecraftClient.getInstance().getWindow().getScaledHeight()));
+		return snapshot().scaled();
 	}
 
 	public static Box screen() {
-		int[] width = new int[1];
-		int[] height = new int[1];
-		GLFW.glfwGetWindowSize(MinecraftClient.getInstance().getWindow().getHandle(), width, height);
-		return new Box(Vector.fromCartesian(width[0], height[0]));
+		return snapshot().screen();
 	}
 
 	public static Box openGL() {
-		return Convertor.screenToOpenGL(screen());
+		return snapshot().openGL();
 	}
 
 	/**
@@ -110,11 +162,11 @@ public class FrameInfo {
 	 */
 	public static class Convertor {
 		public static Vector scaledToScreen(Vector vector) {
-			return vector.scale(screen().d() / scaled().d());
+			return vector.scale(snapshot().scaledToScreen());
 		}
 
 		public static Vector screenToScaled(Vector vector) {
-			return vector.scale(scaled().d() / screen().d());
+			return vector.scale(snapshot().screenToScaled());
 		}
 
 		public static Vector scaledToOpenGL(Vector vector) {
@@ -134,11 +186,13 @@ public class FrameInfo {
 		}
 
 		public static Box scaledToScreen(Box box) {
-			return new Box(scaledToScreen(box.origin()), scaledToScreen(box.size()));
+			double factor = snapshot().scaledToScreen();
+			return new Box(box.origin().scale(factor), box.size().scale(factor));
 		}
 
 		public static Box screenToScaled(Box box) {
-			return new Box(screenToScaled(box.origin()), screenToScaled(box.size()));
+			double factor = snapshot().screenToScaled();
+			return new Box(box.origin().scale(factor), box.size().scale(factor));
 		}
 
 		public static Box scaledToOpenGL(Box box) {
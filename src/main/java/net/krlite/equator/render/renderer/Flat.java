@@ -1,13 +1,19 @@
 package net.krlite.equator.render.renderer;
 
 import com.google.common.collect.ImmutableMap;
-import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.krlite.equator.math.algebra.Quaternion;
 import net.krlite.equator.math.algebra.Theory;
 import net.krlite.equator.math.geometry.flat.Box;
 import net.krlite.equator.math.geometry.flat.Vector;
+import net.krlite.equator.render.IconAtlas;
 import net.krlite.equator.render.RenderManager;
+import net.krlite.equator.render.ShaderManager;
+import net.krlite.equator.render.base.Batch;
+import net.krlite.equator.render.base.BlockMesh;
+import net.krlite.equator.render.base.GlyphMesh;
+import net.krlite.equator.render.base.Offscreen;
+import net.krlite.equator.render.base.RenderState;
 import net.krlite.equator.render.base.Renderable;
 import net.krlite.equator.render.base.Scissor;
 import net.krlite.equator.render.frame.FrameInfo;
@@ -19,6 +25,7 @@ import net.krlite.equator.visual.color.Palette;
 import net.krlite.equator.visual.color.base.ColorStandard;
 import net.krlite.equator.visual.text.Paragraph;
 import net.krlite.equator.visual.text.Section;
+import net.krlite.equator.visual.text.TextLayout;
 import net.krlite.equator.visual.texture.Texture;
 import net.minecraft.block.BlockRenderType;
 import net.minecraft.block.BlockState;
@@ -27,23 +34,23 @@ import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gl.ShaderProgram;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.render.*;
-import net.minecraft.client.render.block.BlockModelRenderer;
-import net.minecraft.client.render.item.BuiltinModelItemRenderer;
 import net.minecraft.client.render.model.BakedModel;
 import net.minecraft.client.render.model.json.ModelTransformationMode;
 import net.minecraft.client.texture.SpriteAtlasTexture;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.client.extensions.common.IClientItemExtensions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix4f;
-import org.lwjgl.opengl.GL11;
+import org.joml.Vector3f;
 
 import java.util.*;
 import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 public class Flat extends Basic {
 	// Constructors
@@ -56,6 +63,10 @@ public class Flat extends Basic {
 
 	// Fields
 
+	// Reused by the visibility tests, which only run on the render thread
+	private static final Matrix4f INVERSE = new Matrix4f();
+	private static final Vector3f MIN = new Vector3f(), MAX = new Vector3f();
+
 	private final float z;
 	private final Box box;
 
@@ -79,6 +90,51 @@ public class Flat extends Basic {
 		return new Flat(context(), z(), box);
 	}
 
+	// Properties
+
+	/**
+	 * Tests whether the given bounds, transformed by the current matrix stack, can be seen on the screen. That is,
+	 * whether they intersect the current {@link Scissor#clip()}, or the screen if nothing is clipped. Vertices being
+	 * recorded or drawn {@link Offscreen offscreen} are always visible, as they are drawn later under another
+	 * transformation.
+	 * @param bounds	the bounds to test, in the scaled coordinate of the matrix stack.
+	 * @return	{@code true -} if the bounds may be visible.
+	 * <br />	{@code false -} if the bounds can be safely culled.
+	 */
+	public boolean isVisible(Box bounds) {
+		if (Batch.isRecording() || Offscreen.isDrawing()) return true;
+
+		matrixStack().peek().getPositionMatrix().transformAab(
+				(float) bounds.left(), (float) bounds.top(), z(), (float) bounds.right(), (float) bounds.bottom(), z(),
+				MIN, MAX
+		);
+
+		Box clip = Scissor.clip();
+		return Box.fromCartesian(MIN.x(), MIN.y(), MAX.x() - MIN.x(), MAX.y() - MIN.y())
+					   .intersects(clip != null ? clip : FrameInfo.scaled());
+	}
+
+	/**
+	 * Maps the current {@link Scissor#clip()}, or the screen if nothing is clipped, back into the coordinate of the
+	 * matrix stack. Renderables can use it to skip the parts which can't be seen.
+	 * @return	the bounds of the visible region in the coordinate of the matrix stack, or {@code null} if everything
+	 * 			should be rendered, for example when the vertices are being recorded.
+	 */
+	public @Nullable Box visibleRegion() {
+		if (Batch.isRecording() || Offscreen.isDrawing()) return null;
+
+		Matrix4f matrix = matrixStack().peek().getPositionMatrix();
+		if (Math.abs(matrix.determinant()) < Theory.EPSILON) return null;
+
+		Box clip = Scissor.clip() != null ? Objects.requireNonNull(Scissor.clip()) : FrameInfo.scaled();
+		matrix.invert(INVERSE).transformAab(
+				(float) clip.left(), (float) clip.top(), z(), (float) clip.right(), (float) clip.bottom(), z(),
+				MIN, MAX
+		);
+
+		return Box.fromCartesian(MIN.x(), MIN.y(), MAX.x() - MIN.x(), MAX.y() - MIN.y());
+	}
+
 	public class Rectangle implements Renderable {
 		// Constructors
 
@@ -86,7 +142,7 @@ public class Flat extends Basic {
 				@Nullable Texture texture,
 				@Nullable AccurateColor colorTopLeft, 		@Nullable AccurateColor colorBottomLeft,
 				@Nullable AccurateColor colorBottomRight, 	@Nullable AccurateColor colorTopRight,
-				double opacityMultiplier, @Nullable Colorspace colorspace, RectangleMode mode
+				double opacityMultiplier, @Nullable Colorspace colorspace, RectangleMode mode, double tolerance
 		) {
 			this.texture = texture;
 
@@ -98,6 +154,16 @@ public class Flat extends Basic {
 			this.opacityMultiplier = Theory.clamp(opacityMultiplier, 0, 1);
 			this.colorspace = AccurateColor.notnull(colorspace);
 			this.mode = mode;
+			this.tolerance = tolerance;
+		}
+
+		public Rectangle(
+				@Nullable Texture texture,
+				@Nullable AccurateColor colorTopLeft, 		@Nullable AccurateColor colorBottomLeft,
+				@Nullable AccurateColor colorBottomRight, 	@Nullable AccurateColor colorTopRight,
+				double opacityMultiplier, @Nullable Colorspace colorspace, RectangleMode mode
+		) {
+			this(texture, colorTopLeft, colorBottomLeft, colorBottomRight, colorTopRight, opacityMultiplier, colorspace, mode, DEFAULT_TOLERANCE);
 		}
 
 		public Rectangle(
@@ -134,11 +200,20 @@ public class Flat extends Basic {
 			NORMAL, TILING, FIXED_CORNERS
 		}
 
+		/**
+		 * The default maximum difference, in any of the RGBA channels, allowed between the mixed colors and the colors
+		 * interpolated by the GPU when adaptively tessellating gradients. That is about two steps of an 8-bit channel.
+		 */
+		public static final double DEFAULT_TOLERANCE = 2 / 255.0;
+		private static final int MAX_SUBDIVISION_DEPTH = 6;
+		private static final int SUBDIVISION_STEPS = 1 << MAX_SUBDIVISION_DEPTH; // Steps of the finest subdivision along each side
+
 		private final @Nullable Texture texture;
 		private final @NotNull AccurateColor colorTopLeft, colorBottomLeft, colorBottomRight, colorTopRight;
 		private final double opacityMultiplier;
 		private final @NotNull Colorspace colorspace;
 		private final RectangleMode mode;
+		private final double tolerance;
 
 		// Accessors
 
@@ -186,10 +261,18 @@ public class Flat extends Basic {
 			return mode;
 		}
 
+		/**
+		 * @return	the tolerance of the adaptive tessellation. Gradients are only subdivided where the mixed colors differ
+		 * 			from the interpolated ones by more than it. A non-positive tolerance tessellates gradients uniformly.
+		 */
+		public double tolerance() {
+			return tolerance;
+		}
+
 		// Mutators
 
 		public Rectangle parent(UnaryOperator<Flat> flat) {
-			return flat.apply(Flat.this).new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return flat.apply(Flat.this).new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		protected Rectangle preserve(Box box, Box uvBox) {
@@ -201,62 +284,66 @@ public class Flat extends Basic {
 		}
 
 		public Rectangle texture(@Nullable Texture texture) {
-			return new Rectangle(texture, colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture, colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorTopLeft(@Nullable AccurateColor colorTopLeft) {
-			return new Rectangle(texture(), colorTopLeft, colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft, colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorBottomLeft(@Nullable AccurateColor colorBottomLeft) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft, colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft, colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorBottomRight(@Nullable AccurateColor colorBottomRight) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight, colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight, colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorTopRight(@Nullable AccurateColor colorTopRight) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight, opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight, opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorTop(@Nullable AccurateColor colorTop) {
-			return new Rectangle(texture(), colorTop, colorBottomLeft(), colorBottomRight(), colorTop, opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTop, colorBottomLeft(), colorBottomRight(), colorTop, opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorBottom(@Nullable AccurateColor colorBottom) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottom, colorBottom, colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottom, colorBottom, colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorLeft(@Nullable AccurateColor colorLeft) {
-			return new Rectangle(texture(), colorLeft, colorLeft, colorLeft, colorTopRight(), opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorLeft, colorLeft, colorLeft, colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colorRight(@Nullable AccurateColor colorRight) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorRight, colorRight, opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorRight, colorRight, opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colors(
 				@Nullable AccurateColor colorTopLeft, 		@Nullable AccurateColor colorBottomLeft,
 				@Nullable AccurateColor colorBottomRight, 	@Nullable AccurateColor colorTopRight
 		) {
-			return new Rectangle(texture(), colorTopLeft, colorBottomLeft, colorBottomRight, colorTopRight, opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft, colorBottomLeft, colorBottomRight, colorTopRight, opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle colors(@Nullable AccurateColor color) {
-			return new Rectangle(texture(), color, color, color, color, opacityMultiplier(), colorspace(), mode());
+			return new Rectangle(texture(), color, color, color, color, opacityMultiplier(), colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle opacityMultiplier(double opacityMultiplier) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier, colorspace(), mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier, colorspace(), mode(), tolerance());
 		}
 
 		public Rectangle mode(RectangleMode mode) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode);
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode, tolerance());
 		}
 
 		public Rectangle colorspace(@Nullable Colorspace colorspace) {
-			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace, mode());
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace, mode(), tolerance());
+		}
+
+		public Rectangle tolerance(double tolerance) {
+			return new Rectangle(texture(), colorTopLeft(), colorBottomLeft(), colorBottomRight(), colorTopRight(), opacityMultiplier(), colorspace(), mode(), tolerance);
 		}
 
 		// Properties
@@ -265,7 +352,8 @@ public class Flat extends Basic {
 			UNABLE(null, null),
 			COLOR(VertexFormats.POSITION_COLOR, GameRenderer::getPositionColorProgram),
 			TEXTURE(VertexFormats.POSITION_TEXTURE, GameRenderer::getPositionTexProgram),
-			COLOR_TEXTURE(VertexFormats.POSITION_COLOR_TEXTURE, GameRenderer::getPositionColorTexProgram);
+			COLOR_TEXTURE(VertexFormats.POSITION_COLOR_TEXTURE, GameRenderer::getPositionColorTexProgram),
+			GRADIENT(VertexFormats.POSITION_TEXTURE, ShaderManager::rectangleGradient);
 
 			private final @Nullable VertexFormat vertexFormat;
 			private final @Nullable Supplier<ShaderProgram> shaderProgram;
@@ -301,6 +389,57 @@ public class Flat extends Basic {
 			return leftSide.mix(rightSide, xOffset);
 		}
 
+		/**
+		 * @return	{@code true -} if all the corners share the same color, regardless of the colorspace.
+		 * <br />	{@code false -} otherwise.
+		 */
+		public boolean isUniform() {
+			return colorTopLeft().hasColor() == colorBottomLeft().hasColor()
+						   && colorTopLeft().hasColor() == colorBottomRight().hasColor()
+						   && colorTopLeft().hasColor() == colorTopRight().hasColor()
+						   && colorTopLeft().approximates(colorBottomLeft())
+						   && colorTopLeft().approximates(colorBottomRight())
+						   && colorTopLeft().approximates(colorTopRight());
+		}
+
+		/**
+		 * @return	{@code true -} if the colors can be interpolated by the GPU without any visual difference, that is,
+		 * 			if the colors are uniform, or if they are mixed in {@link Colorspace#RGB} and vary linearly across
+		 * 			the rectangle. Such rectangles are rendered as a single quad.
+		 * <br />	{@code false -} otherwise.
+		 */
+		public boolean isLinear() {
+			if (!hasColor() || isUniform()) return true;
+			if (colorspace() != Colorspace.RGB) return false;
+			if (!colorTopLeft().hasColor() || !colorBottomLeft().hasColor() || !colorBottomRight().hasColor() || !colorTopRight().hasColor()) return false;
+
+			double[]
+					topLeft = colorTopLeft().color(), bottomLeft = colorBottomLeft().color(),
+					bottomRight = colorBottomRight().color(), topRight = colorTopRight().color();
+
+			// A bilinear interpolation is linear only if the diagonals share the same midpoint
+			for (int i = 0; i < 3; i++) {
+				if (Theory.looseUnequals(topLeft[i] + bottomRight[i], bottomLeft[i] + topRight[i])) return false;
+			}
+
+			return Theory.looseEquals(
+					colorTopLeft().opacity() + colorBottomRight().opacity(),
+					colorBottomLeft().opacity() + colorTopRight().opacity()
+			);
+		}
+
+		/**
+		 * @return	{@code true -} if the colors are interpolated per fragment by the
+		 * 			{@link ShaderManager#rectangleGradient() gradient shader}, that is, if the rectangle is an untextured,
+		 * 			non-linear gradient and the shader is loaded. Such rectangles are rendered as a single quad.
+		 * <br />	{@code false -} otherwise.
+		 */
+		public boolean isGradient() {
+			return ShaderManager.rectangleGradient() != null && !hasTexture() && hasColor()
+						   && colorTopLeft().hasColor() && colorBottomLeft().hasColor() && colorBottomRight().hasColor() && colorTopRight().hasColor()
+						   && !isLinear();
+		}
+
 		private AccurateColor assertColor(AccurateColor color) {
 			return color.hasColor() ? color : colorAtCenter().transparent();
 		}
@@ -321,36 +460,284 @@ public class Flat extends Basic {
 		private void renderVertex(BufferBuilder builder, Matrix4f matrix, Vector vertex, Vector uv, AccurateColor color, float z) {
 			switch (state()) {
 				case COLOR -> builder.vertex(matrix, (float) vertex.x(), (float) vertex.y(), z)
-									  .color(color.redAsFloat(), color.greenAsFloat(), color.blueAsFloat(), color.opacityAsFloat())
+									  .color(color.argb())
 									  .next();
 				case TEXTURE -> builder.vertex(matrix, (float) vertex.x(), (float) vertex.y(), z)
 										.texture((float) uv.x(), (float) uv.y())
 										.next();
 				case COLOR_TEXTURE -> builder.vertex(matrix, (float) vertex.x(), (float) vertex.y(), z)
-											  .color(color.redAsFloat(), color.greenAsFloat(), color.blueAsFloat(), color.opacityAsFloat())
+											  .color(color.argb())
 											  .texture((float) uv.x(), (float) uv.y())
 											  .next();
 			}
 		}
 
+		private Batch.Group group() {
+			return new Batch.Group(
+					state().vertexFormat(), state().shaderProgram(),
+					hasTexture() ? Objects.requireNonNull(texture()).identifier() : null, hasColor()
+			);
+		}
+
+		private static double[] subdivide(double length, double delta) {
+			int count = Math.max(1, (int) Math.ceil(length / delta - Theory.EPSILON));
+			double[] offsets = new double[count + 1];
+
+			for (int i = 0; i <= count; i++) {
+				offsets[i] = Math.min(length, i * delta);
+			}
+
+			return offsets;
+		}
+
+		private void renderCorner(BufferBuilder builder, Matrix4f matrix, double x, double y, AccurateColor color) {
+			renderVertex(
+					builder, matrix, box().topLeft().add(x, y),
+					hasTexture() ? Objects.requireNonNull(texture()).uvAt(x / box().w(), y / box().h()) : Vector.ZERO,
+					color, z()
+			);
+		}
+
 		private void renderNormal() {
-			boolean blend = GL11.glIsEnabled(GL11.GL_BLEND);
+			Matrix4f matrix = matrixStack().peek().getPositionMatrix();
 
-			if (hasColor() && !blend) {
-				RenderSystem.enableBlend();
+			if (isGradient()) {
+				Batch.draw(gradientGroup(), builder -> renderGradient(builder, matrix));
+			} else {
+				Batch.draw(group(), builder -> renderMesh(builder, matrix));
 			}
+		}
+
+		private Batch.Group gradientGroup() {
+			return new Batch.Group(
+					State.GRADIENT.vertexFormat(), State.GRADIENT.shaderProgram(), null, true,
+					this::applyGradientUniforms
+			);
+		}
 
-			RenderSystem.setShader(Objects.requireNonNull(state().shaderProgram()));
+		private void applyGradientUniforms(ShaderProgram shaderProgram) {
+			applyColorUniform(shaderProgram, "ColorTopLeft", colorTopLeft());
+			applyColorUniform(shaderProgram, "ColorBottomLeft", colorBottomLeft());
+			applyColorUniform(shaderProgram, "ColorBottomRight", colorBottomRight());
+			applyColorUniform(shaderProgram, "ColorTopRight", colorTopRight());
 
-			if (hasTexture()) {
-				RenderSystem.setShaderTexture(0, Objects.requireNonNull(texture()).identifier());
+			Optional.ofNullable(shaderProgram.getUniform("Opacities")).ifPresent(uniform -> uniform.set(
+					(float) (colorTopLeft().opacity() * opacityMultiplier()), (float) (colorBottomLeft().opacity() * opacityMultiplier()),
+					(float) (colorBottomRight().opacity() * opacityMultiplier()), (float) (colorTopRight().opacity() * opacityMultiplier())
+			));
+			Optional.ofNullable(shaderProgram.getUniform("Colorspace")).ifPresent(uniform -> uniform.set(colorspace().ordinal()));
+		}
+
+		private static void applyColorUniform(ShaderProgram shaderProgram, String name, AccurateColor color) {
+			double[] components = color.color();
+			float[] values = new float[4];
+
+			for (int i = 0; i < Math.min(components.length, values.length); i++) {
+				values[i] = (float) components[i];
 			}
 
-			BufferBuilder builder = Tessellator.getInstance().getBuffer();
-			Matrix4f matrix = matrixStack().peek().getPositionMatrix();
+			Optional.ofNullable(shaderProgram.getUniform(name)).ifPresent(uniform -> uniform.set(values[0], values[1], values[2], values[3]));
+		}
+
+		/**
+		 * Emits a single quad whose texture coordinates are the local offsets inside the rectangle, from which the
+		 * gradient shader interpolates the colors.
+		 */
+		private void renderGradient(BufferBuilder builder, Matrix4f matrix) {
+			renderGradientCorner(builder, matrix, 0, 0);
+			renderGradientCorner(builder, matrix, 0, 1);
+			renderGradientCorner(builder, matrix, 1, 1);
+			renderGradientCorner(builder, matrix, 1, 0);
+		}
+
+		private void renderGradientCorner(BufferBuilder builder, Matrix4f matrix, double xOffset, double yOffset) {
+			Vector vertex = box().topLeft().add(xOffset * box().w(), yOffset * box().h());
+			builder.vertex(matrix, (float) vertex.x(), (float) vertex.y(), z())
+					.texture((float) xOffset, (float) yOffset)
+					.next();
+		}
+
+		private void renderMesh(BufferBuilder builder, Matrix4f matrix) {
+			if (isLinear()) {
+				renderQuad(builder, matrix);
+			} else if (Theory.looseGreater(tolerance(), 0)) {
+				renderAdaptive(builder, matrix);
+			} else {
+				renderGrid(builder, matrix);
+			}
+		}
+
+		private AccurateColor vertexColorAt(double xOffset, double yOffset) {
+			return assertColor(colorAt(xOffset, yOffset)).multiplyOpacity(opacityMultiplier());
+		}
+
+		/**
+		 * Checks if the actual color deviates from the average of the given colors, which is what the GPU interpolates
+		 * at the midpoint between them.
+		 */
+		private boolean deviates(AccurateColor actual, AccurateColor first, AccurateColor second) {
+			double[]
+					actualRGB = actual.colorspace(Colorspace.RGB).color(),
+					firstRGB = first.colorspace(Colorspace.RGB).color(),
+					secondRGB = second.colorspace(Colorspace.RGB).color();
+
+			for (int i = 0; i < 3; i++) {
+				if (Math.abs(actualRGB[i] - (firstRGB[i] + secondRGB[i]) / 2) > tolerance()) return true;
+			}
+
+			return Math.abs(actual.opacity() - (first.opacity() + second.opacity()) / 2) > tolerance();
+		}
+
+		/**
+		 * A leaf cell of the adaptive subdivision, in steps of the finest subdivision.
+		 */
+		private record Cell(int left, int top, int right, int bottom) {
+		}
+
+		private void renderAdaptive(BufferBuilder builder, Matrix4f matrix) {
+			Map<Integer, AccurateColor> colors = new HashMap<>();
+			Set<Integer> corners = new HashSet<>();
+			List<Cell> cells = new ArrayList<>();
+
+			splitCell(colors, corners, cells, 0, 0, SUBDIVISION_STEPS, SUBDIVISION_STEPS, 0);
+
+			// The cells are emitted once all of them are known, so that their edges can be stitched to the corners of
+			// their finer neighbours
+			for (Cell cell : cells) {
+				renderCell(builder, matrix, colors, corners, cell);
+			}
+		}
+
+		private static int vertexKey(int x, int y) {
+			return x * (SUBDIVISION_STEPS + 1) + y;
+		}
+
+		private AccurateColor vertexColorAt(Map<Integer, AccurateColor> colors, int x, int y) {
+			return colors.computeIfAbsent(
+					vertexKey(x, y),
+					key -> vertexColorAt((double) x / SUBDIVISION_STEPS, (double) y / SUBDIVISION_STEPS)
+			);
+		}
+
+		/**
+		 * Recursively splits the cell into four, until the colors at the midpoints of its edges and its diagonal
+		 * are close enough to the interpolated ones.
+		 */
+		private void splitCell(
+				Map<Integer, AccurateColor> colors, Set<Integer> corners, List<Cell> cells,
+				int left, int top, int right, int bottom, int depth
+		) {
+			int xCenter = (left + right) / 2, yCenter = (top + bottom) / 2;
+			boolean divisible = depth < MAX_SUBDIVISION_DEPTH
+										&& Math.max((right - left) * box().w(), (bottom - top) * box().h()) / SUBDIVISION_STEPS > 1;
+
+			if (divisible) {
+				AccurateColor
+						topLeft = 		vertexColorAt(colors, left, top),
+						bottomLeft = 	vertexColorAt(colors, left, bottom),
+						bottomRight = 	vertexColorAt(colors, right, bottom),
+						topRight = 		vertexColorAt(colors, right, top),
+						center = 		vertexColorAt(colors, xCenter, yCenter),
+						topCenter = 	vertexColorAt(colors, xCenter, top),
+						bottomCenter = 	vertexColorAt(colors, xCenter, bottom),
+						leftCenter = 	vertexColorAt(colors, left, yCenter),
+						rightCenter = 	vertexColorAt(colors, right, yCenter);
+
+				// The quad is split into triangles along the top left to bottom right diagonal
+				if (
+						deviates(center, topLeft, bottomRight)
+								|| deviates(topCenter, topLeft, topRight) || deviates(bottomCenter, bottomLeft, bottomRight)
+								|| deviates(leftCenter, topLeft, bottomLeft) || deviates(rightCenter, topRight, bottomRight)
+				) {
+					splitCell(colors, corners, cells, left, top, xCenter, yCenter, depth + 1);
+					splitCell(colors, corners, cells, left, yCenter, xCenter, bottom, depth + 1);
+					splitCell(colors, corners, cells, xCenter, yCenter, right, bottom, depth + 1);
+					splitCell(colors, corners, cells, xCenter, top, right, yCenter, depth + 1);
+					return;
+				}
+			}
+
+			corners.add(vertexKey(left, top));
+			corners.add(vertexKey(left, bottom));
+			corners.add(vertexKey(right, bottom));
+			corners.add(vertexKey(right, top));
+			cells.add(new Cell(left, top, right, bottom));
+		}
+
+		/**
+		 * Emits the cell as a single quad, or as a fan around its center if finer neighbours have corners on its
+		 * edges. Otherwise, the colors interpolated along the edge of the cell won't match the ones of its neighbours,
+		 * leaving seams at the T-junctions.
+		 */
+		private void renderCell(BufferBuilder builder, Matrix4f matrix, Map<Integer, AccurateColor> colors, Set<Integer> corners, Cell cell) {
+			// The boundary in the same order as the corners of a quad, starting from each corner
+			List<Integer> boundary = new ArrayList<>(4);
+
+			for (int y = cell.top(); y < cell.bottom(); y++) {
+				if (y == cell.top() || corners.contains(vertexKey(cell.left(), y))) boundary.add(vertexKey(cell.left(), y));
+			}
+
+			for (int x = cell.left(); x < cell.right(); x++) {
+				if (x == cell.left() || corners.contains(vertexKey(x, cell.bottom()))) boundary.add(vertexKey(x, cell.bottom()));
+			}
+
+			for (int y = cell.bottom(); y > cell.top(); y--) {
+				if (y == cell.bottom() || corners.contains(vertexKey(cell.right(), y))) boundary.add(vertexKey(cell.right(), y));
+			}
+
+			for (int x = cell.right(); x > cell.left(); x--) {
+				if (x == cell.right() || corners.contains(vertexKey(x, cell.top()))) boundary.add(vertexKey(x, cell.top()));
+			}
+
+			if (boundary.size() == 4) {
+				boundary.forEach(key -> renderGridCorner(builder, matrix, colors, key));
+				return;
+			}
+
+			// Cells with corners on their edges are larger than the finest ones, thus their centers are on the grid
+			int center = vertexKey((cell.left() + cell.right()) / 2, (cell.top() + cell.bottom()) / 2);
 
-			builder.begin(VertexFormat.DrawMode.TRIANGLE_STRIP, state().vertexFormat());
+			// Every triangle of the fan is a quad whose last two vertices are the same
+			for (int i = 0; i < boundary.size(); i++) {
+				int next = boundary.get((i + 1) % boundary.size());
 
+				renderGridCorner(builder, matrix, colors, center);
+				renderGridCorner(builder, matrix, colors, boundary.get(i));
+				renderGridCorner(builder, matrix, colors, next);
+				renderGridCorner(builder, matrix, colors, next);
+			}
+		}
+
+		private void renderGridCorner(BufferBuilder builder, Matrix4f matrix, Map<Integer, AccurateColor> colors, int key) {
+			int x = key / (SUBDIVISION_STEPS + 1), y = key % (SUBDIVISION_STEPS + 1);
+			renderCorner(
+					builder, matrix,
+					(double) x / SUBDIVISION_STEPS * box().w(), (double) y / SUBDIVISION_STEPS * box().h(),
+					vertexColorAt(colors, x, y)
+			);
+		}
+
+		private void renderQuad(BufferBuilder builder, Matrix4f matrix) {
+			AccurateColor topLeft, bottomLeft, bottomRight, topRight;
+
+			if (!hasColor()) {
+				topLeft = bottomLeft = bottomRight = topRight = Palette.TRANSPARENT;
+			} else if (isUniform()) {
+				topLeft = bottomLeft = bottomRight = topRight = assertColor(colorTopLeft()).multiplyOpacity(opacityMultiplier());
+			} else {
+				topLeft = 		colorTopLeft()		.multiplyOpacity(opacityMultiplier());
+				bottomLeft = 	colorBottomLeft()	.multiplyOpacity(opacityMultiplier());
+				bottomRight = 	colorBottomRight()	.multiplyOpacity(opacityMultiplier());
+				topRight = 		colorTopRight()		.multiplyOpacity(opacityMultiplier());
+			}
+
+			renderCorner(builder, matrix, 0, 			0, 				topLeft);
+			renderCorner(builder, matrix, 0, 			box().h(), 		bottomLeft);
+			renderCorner(builder, matrix, box().w(), 	box().h(), 		bottomRight);
+			renderCorner(builder, matrix, box().w(), 	0, 				topRight);
+		}
+
+		private void renderGrid(BufferBuilder builder, Matrix4f matrix) {
 			double xDelta, yDelta;
 
 			// Width optimization
@@ -365,30 +752,25 @@ public class Flat extends Basic {
 			else if (box().h() < 100) 	yDelta = box().h() / 8;
 			else 						yDelta = Math.min(25, box().h() / 16);
 
-			for (double yr = 0; yr < box().h(); yr += yDelta) {
-				double y = Math.min(box().h(), yr);
+			double[] xOffsets = subdivide(box().w(), xDelta), yOffsets = subdivide(box().h(), yDelta);
+			AccurateColor[][] colors = new AccurateColor[xOffsets.length][yOffsets.length];
 
-				for (double xr = 0; xr < box().w() + xDelta; xr += xDelta) {
-					double x = Math.min(box().w(), xr);
-
-					renderVertex(
-							builder, matrix, box().topLeft().add(x, y),
-							hasTexture() ? Objects.requireNonNull(texture()).uvAt(x / box().w(), y / box().h()) : Vector.ZERO,
-							assertColor(colorAt(x / box().w(), y / box().h())).multiplyOpacity(opacityMultiplier()), z()
-					);
-
-					renderVertex(
-							builder, matrix, box().topLeft().add(x, Math.min(box().h(), y + yDelta)),
-							hasTexture() ? Objects.requireNonNull(texture()).uvAt(x / box().w(), Math.min(box().h(), y + yDelta) / box().h()) : Vector.ZERO,
-							assertColor(colorAt(x / box().w(), Math.min(box().h(), y + yDelta) / box().h())).multiplyOpacity(opacityMultiplier()), z()
-					);
+			// Every vertex is shared by up to four cells, so the colors are only computed once
+			for (int i = 0; i < xOffsets.length; i++) {
+				for (int j = 0; j < yOffsets.length; j++) {
+					colors[i][j] = hasColor()
+										   ? assertColor(colorAt(xOffsets[i] / box().w(), yOffsets[j] / box().h())).multiplyOpacity(opacityMultiplier())
+										   : Palette.TRANSPARENT;
 				}
 			}
 
-			BufferRenderer.drawWithGlobalProgram(builder.end());
-
-			if (hasColor() && !blend) {
-				RenderSystem.disableBlend();
+			for (int j = 0; j < yOffsets.length - 1; j++) {
+				for (int i = 0; i < xOffsets.length - 1; i++) {
+					renderCorner(builder, matrix, xOffsets[i], 		yOffsets[j], 		colors[i][j]);
+					renderCorner(builder, matrix, xOffsets[i], 		yOffsets[j + 1], 	colors[i][j + 1]);
+					renderCorner(builder, matrix, xOffsets[i + 1], 	yOffsets[j + 1], 	colors[i + 1][j + 1]);
+					renderCorner(builder, matrix, xOffsets[i + 1], 	yOffsets[j], 		colors[i + 1][j]);
+				}
 			}
 		}
 
@@ -399,62 +781,38 @@ public class Flat extends Basic {
 			).render();
 		}
 
+		private static final Box
+				UV_TOP_LEFT = 		new Box(0, 0, 0.5, 0.5),
+				UV_BOTTOM_LEFT = 	new Box(0, 0.5, 0.5, 1),
+				UV_BOTTOM_RIGHT = 	new Box(0.5, 0.5, 1, 1),
+				UV_TOP_RIGHT = 		new Box(0.5, 0, 1, 0.5),
+				UV_TOP = 			new Box(0.5, 0, 0.5, 0.5),
+				UV_BOTTOM = 		new Box(0.5, 0.5, 0.5, 1),
+				UV_LEFT = 			new Box(0, 0.5, 0.5, 0.5),
+				UV_RIGHT = 			new Box(0.5, 0.5, 1, 0.5);
+
 		private void renderFixedCorners() {
 			Box corner = box().squareInner().scaleCenter(0.5);
 
-			// Top left
-			preserve(
-					corner.alignTopLeft(box()),
-					new Box(0, 0, 0.5, 0.5)
-			).render();
-
-			// Bottom left
-			preserve(
-					corner.alignBottomLeft(box()),
-					new Box(0, 0.5, 0.5, 1)
-			).render();
-
-			// Bottom right
-			preserve(
-					corner.alignBottomRight(box()),
-					new Box(0.5, 0.5, 1, 1)
-			).render();
-
-			// Top right
-			preserve(
-					corner.alignTopRight(box()),
-					new Box(0.5, 0, 1, 0.5)
-			).render();
-
-			if (box().w() > box().h()) {
-				Box gap = Box.fromVector(corner.alignTopLeft(box()).topRight(), corner.alignTopRight(box()).bottomLeft());
-
-				// Top
-				preserve(
-						gap,
-						new Box(0.5, 0, 0.5, 0.5)
-				).render();
+			// The parts share the same render state, so they are drawn at once
+			Batch.batchWith(() -> {
+				preserve(corner.alignTopLeft(box()), UV_TOP_LEFT).render();
+				preserve(corner.alignBottomLeft(box()), UV_BOTTOM_LEFT).render();
+				preserve(corner.alignBottomRight(box()), UV_BOTTOM_RIGHT).render();
+				preserve(corner.alignTopRight(box()), UV_TOP_RIGHT).render();
 
-				// Bottom
-				preserve(
-						gap.translate(0, 1),
-						new Box(0.5, 0.5, 0.5, 1)
-				).render();
-			} else if (box().w() < box().h()) {
-				Box gap = Box.fromVector(corner.alignTopLeft(box()).bottomLeft(), corner.alignBottomLeft(box()).topRight());
+				if (box().w() > box().h()) {
+					Box gap = Box.fromVector(corner.alignTopLeft(box()).topRight(), corner.alignTopRight(box()).bottomLeft());
 
-				// Left
-				preserve(
-						gap,
-						new Box(0, 0.5, 0.5, 0.5)
-				).render();
+					preserve(gap, UV_TOP).render();
+					preserve(gap.translate(0, 1), UV_BOTTOM).render();
+				} else if (box().w() < box().h()) {
+					Box gap = Box.fromVector(corner.alignTopLeft(box()).bottomLeft(), corner.alignBottomLeft(box()).topRight());
 
-				// Right
-				preserve(
-						gap.translate(1, 0),
-						new Box(0.5, 0.5, 1, 0.5)
-				).render();
-			}
+					preserve(gap, UV_LEFT).render();
+					preserve(gap.translate(1, 0), UV_RIGHT).render();
+				}
+			});
 		}
 
 		@Override
@@ -465,6 +823,7 @@ public class Flat extends Basic {
 		@Override
 		public void render() {
 			if (!isRenderable()) return;
+			if (mode() != RectangleMode.TILING && !isVisible(box())) return; // Tiling covers the whole screen
 
 			switch (mode()) {
 				case NORMAL -> renderNormal();
@@ -525,17 +884,22 @@ public class Flat extends Basic {
 					return;
 				}
 
-				for (double x = 0; x < box().w(); x += width()) {
-					for (double y = 0; y < box().h(); y += height()) {
-						preserve(
-								box().width(Math.min(width(), box().w() - x)).height(Math.min(height(), box().h() - y)).shift(x, y),
-								Objects.requireNonNull(texture()).uvBox().scale(
-										Math.min(width(), box().w() - x) / width(),
-										Math.min(height(), box().h() - y) / height()
-								).shift(x / width(), y / height())
-						).render();
+				Box uvBox = Objects.requireNonNull(texture()).uvBox();
+
+				// The tiles share the same texture, so they are drawn at once
+				Batch.batchWith(() -> {
+					for (double x = 0; x < box().w(); x += width()) {
+						for (double y = 0; y < box().h(); y += height()) {
+							preserve(
+									box().width(Math.min(width(), box().w() - x)).height(Math.min(height(), box().h() - y)).shift(x, y),
+									uvBox.scale(
+											Math.min(width(), box().w() - x) / width(),
+											Math.min(height(), box().h() - y) / height()
+									).shift(x / width(), y / height())
+							).render();
+						}
 					}
-				}
+				});
 			}
 
 			// 'Repeating'
@@ -629,99 +993,138 @@ public class Flat extends Basic {
 					return;
 				}
 
+				// The slices share the same texture, so they are drawn at once
+				Batch.batchWith(() -> slices().forEach(this::renderSlice));
+			}
+
+			private void renderSlice(Slice slice) {
+				if (slice.repeatedSize() == null) {
+					preserve(slice.box(), slice.uvBox()).render();
+				} else {
+					preserve(slice.box(), slice.uvBox()).new Repeated(slice.repeatedSize().x(), slice.repeatedSize().y()).render();
+				}
+			}
+
+			/**
+			 * A slice of the texture, which is repeated if its size is specified.
+			 */
+			private record Slice(Box box, Box uvBox, @Nullable Vector repeatedSize) {
+			}
+
+			// Computed on every render, as nine-sliced rectangles are rebuilt every frame and the slices are only a few box
+			// operations
+			private List<Slice> slices() {
 				Box uvBox = Objects.requireNonNull(texture()).uvBox();
+				List<Slice> slices = new ArrayList<>();
 
 				if (Theory.looseEquals(box().w(), width())) {
 					// Left
-					preserve(
+					slices.add(new Slice(
 							box().width(leftWidth()),
-							uvBox.scale(leftWidth() / width(), 1)
-					).render();
+							uvBox.scale(leftWidth() / width(), 1),
+							null
+					));
 
 					// Center
-					preserve(
+					slices.add(new Slice(
 							box().width(box().w() - leftWidth() - rightWidth()).center(box()),
-							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), 1).center(uvBox)
-					).new Repeated(width() - leftWidth() - rightWidth(), height()).render();
+							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), 1).center(uvBox),
+							Vector.fromCartesian(width() - leftWidth() - rightWidth(), height())
+					));
 
 					// Right
-					preserve(
+					slices.add(new Slice(
 							box().width(rightWidth()).alignRight(box()),
-							uvBox.scale(rightWidth() / width(), 1).alignRight(uvBox)
-					).render();
+							uvBox.scale(rightWidth() / width(), 1).alignRight(uvBox),
+							null
+					));
 				} else if (Theory.looseEquals(box().h(), height())) {
 					// Top
-					preserve(
+					slices.add(new Slice(
 							box().height(topHeight()),
-							uvBox.scale(1, topHeight() / height())
-					).render();
+							uvBox.scale(1, topHeight() / height()),
+							null
+					));
 
 					// Center
-					preserve(
+					slices.add(new Slice(
 							box().height(box().h() - topHeight() - bottomHeight()).center(box()),
-							uvBox.scale(1, (height() - topHeight() - bottomHeight()) / height()).center(uvBox)
-					).new Repeated(width(), height() - topHeight() - bottomHeight()).render();
+							uvBox.scale(1, (height() - topHeight() - bottomHeight()) / height()).center(uvBox),
+							Vector.fromCartesian(width(), height() - topHeight() - bottomHeight())
+					));
 
 					// Bottom
-					preserve(
+					slices.add(new Slice(
 							box().height(bottomHeight()).alignBottom(box()),
-							uvBox.scale(1, bottomHeight() / height()).alignBottom(uvBox)
-					).render();
+							uvBox.scale(1, bottomHeight() / height()).alignBottom(uvBox),
+							null
+					));
 				} else {
 					// Top left
-					preserve(
+					slices.add(new Slice(
 							box().width(leftWidth()).height(topHeight()),
-							uvBox.scale(leftWidth() / width(), topHeight() / height())
-					).render();
+							uvBox.scale(leftWidth() / width(), topHeight() / height()),
+							null
+					));
 
 					// Top center
-					preserve(
+					slices.add(new Slice(
 							box().width(box().w() - leftWidth() - rightWidth()).height(topHeight()).center(box()).alignTop(box()),
-							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), topHeight() / height()).center(uvBox).alignTop(uvBox)
-					).new Repeated(width() - leftWidth() - rightWidth(), topHeight()).render();
+							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), topHeight() / height()).center(uvBox).alignTop(uvBox),
+							Vector.fromCartesian(width() - leftWidth() - rightWidth(), topHeight())
+					));
 
 					// Top right
-					preserve(
+					slices.add(new Slice(
 							box().width(rightWidth()).height(topHeight()).alignTopRight(box()),
-							uvBox.scale(rightWidth() / width(), topHeight() / height()).alignTopRight(uvBox)
-					).render();
+							uvBox.scale(rightWidth() / width(), topHeight() / height()).alignTopRight(uvBox),
+							null
+					));
 
 					// Center left
-					preserve(
+					slices.add(new Slice(
 							box().width(leftWidth()).height(box().h() - topHeight() - bottomHeight()).center(box()).alignLeft(box()),
-							uvBox.scale(leftWidth() / width(), (height() - topHeight() - bottomHeight()) / height()).center(uvBox).alignLeft(uvBox)
-					).new Repeated(leftWidth(), height() - topHeight() - bottomHeight()).render();
+							uvBox.scale(leftWidth() / width(), (height() - topHeight() - bottomHeight()) / height()).center(uvBox).alignLeft(uvBox),
+							Vector.fromCartesian(leftWidth(), height() - topHeight() - bottomHeight())
+					));
 
 					// Center
-					preserve(
+					slices.add(new Slice(
 							box().width(box().w() - leftWidth() - rightWidth()).height(box().h() - topHeight() - bottomHeight()).center(box()),
-							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), (height() - topHeight() - bottomHeight()) / height()).center(uvBox)
-					).new Repeated(width() - leftWidth() - rightWidth(), height() - topHeight() - bottomHeight()).render();
+							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), (height() - topHeight() - bottomHeight()) / height()).center(uvBox),
+							Vector.fromCartesian(width() - leftWidth() - rightWidth(), height() - topHeight() - bottomHeight())
+					));
 
 					// Center right
-					preserve(
+					slices.add(new Slice(
 							box().width(rightWidth()).height(box().h() - topHeight() - bottomHeight()).center(box()).alignRight(box()),
-							uvBox.scale(rightWidth() / width(), (height() - topHeight() - bottomHeight()) / height()).center(uvBox).alignRight(uvBox)
-					).new Repeated(rightWidth(), height() - topHeight() - bottomHeight()).render();
+							uvBox.scale(rightWidth() / width(), (height() - topHeight() - bottomHeight()) / height()).center(uvBox).alignRight(uvBox),
+							Vector.fromCartesian(rightWidth(), height() - topHeight() - bottomHeight())
+					));
 
 					// Bottom left
-					preserve(
+					slices.add(new Slice(
 							box().width(leftWidth()).height(bottomHeight()).alignBottomLeft(box()),
-							uvBox.scale(leftWidth() / width(), bottomHeight() / height()).alignBottomLeft(uvBox)
-					).render();
+							uvBox.scale(leftWidth() / width(), bottomHeight() / height()).alignBottomLeft(uvBox),
+							null
+					));
 
 					// Bottom center
-					preserve(
+					slices.add(new Slice(
 							box().width(box().w() - leftWidth() - rightWidth()).height(bottomHeight()).center(box()).alignBottom(box()),
-							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), bottomHeight() / height()).center(uvBox).alignBottom(uvBox)
-					).new Repeated(width() - leftWidth() - rightWidth(), bottomHeight()).render();
+							uvBox.scale((width() - leftWidth() - rightWidth()) / width(), bottomHeight() / height()).center(uvBox).alignBottom(uvBox),
+							Vector.fromCartesian(width() - leftWidth() - rightWidth(), bottomHeight())
+					));
 
 					// Bottom right
-					preserve(
+					slices.add(new Slice(
 							box().width(rightWidth()).height(bottomHeight()).alignBottomRight(box()),
-							uvBox.scale(rightWidth() / width(), bottomHeight() / height()).alignBottomRight(uvBox)
-					).render();
+							uvBox.scale(rightWidth() / width(), bottomHeight() / height()).alignBottomRight(uvBox),
+							null
+					));
 				}
+
+				return slices;
 			}
 
 			// 'NineSlicing'
@@ -800,10 +1203,7 @@ public class Flat extends Basic {
 			@Override
 			public void render() {
 				if (!isRenderable()) return;
-
-				if (mode() == OutliningMode.NORMAL) {
-					Rectangle.this.render();
-				}
+				if (!isVisible(box().expand(expansion().x(), expansion().y()))) return;
 
 				Box corner 			= Box.fromVectorCentered(box().center(), expansion);
 				Box gapHorizontal 	= Box.fromVectorCentered(box().center(), Vector.fromCartesian(box().w(), expansion.y()));
@@ -881,69 +1281,90 @@ public class Flat extends Basic {
 					}
 				}
 
-				// Top left
-				preserve(corner.alignBottomRight(box().topLeft()))
-						.colorTopLeft(topLeft)
-						.colorBottomLeft(topLeftBottom)
-						.colorBottomRight(topLeftDiagonal)
-						.colorTopRight(topLeftTop)
-						.render();
-
-				// Bottom left
-				preserve(corner.alignTopRight(box().bottomLeft()))
-						.colorTopLeft(bottomLeftTop)
-						.colorBottomLeft(bottomLeft)
-						.colorBottomRight(bottomLeftBottom)
-						.colorTopRight(bottomLeftDiagonal)
-						.render();
-
-				// Bottom right
-				preserve(corner.alignTopLeft(box().bottomRight()))
-						.colorTopLeft(bottomRightDiagonal)
-						.colorBottomLeft(bottomRightBottom)
-						.colorBottomRight(bottomRight)
-						.colorTopRight(bottomRightTop)
-						.render();
-
-				// Top right
-				preserve(corner.alignBottomLeft(box().topRight()))
-						.colorTopLeft(topRightTop)
-						.colorBottomLeft(topRightDiagonal)
-						.colorBottomRight(topRightBottom)
-						.colorTopRight(topRight)
-						.render();
-
-				// Top
-				preserve(gapHorizontal.alignBottomLeft(box().topLeft()))
-						.colorTopLeft(topLeftTop)
-						.colorBottomLeft(topLeftDiagonal)
-						.colorBottomRight(topRightDiagonal)
-						.colorTopRight(topRightTop)
-						.render();
-
-				// Bottom
-				preserve(gapHorizontal.alignTopLeft(box().bottomLeft()))
-						.colorTopLeft(bottomLeftDiagonal)
-						.colorBottomLeft(bottomLeftBottom)
-						.colorBottomRight(bottomRightBottom)
-						.colorTopRight(bottomRightDiagonal)
-						.render();
-
-				// Left
-				preserve(gapVertical.alignTopRight(box().topLeft()))
-						.colorTopLeft(topLeftBottom)
-						.colorBottomLeft(bottomLeftTop)
-						.colorBottomRight(bottomLeftDiagonal)
-						.colorTopRight(topLeftDiagonal)
-						.render();
-
-				// Right
-				preserve(gapVertical.alignTopLeft(box().topRight()))
-						.colorTopLeft(topRightDiagonal)
-						.colorBottomLeft(bottomRightDiagonal)
-						.colorBottomRight(bottomRightTop)
-						.colorTopRight(topRightBottom)
-						.render();
+				Rectangle[] pieces = {
+						// Top left
+						preserve(corner.alignBottomRight(box().topLeft()))
+								.colorTopLeft(topLeft)
+								.colorBottomLeft(topLeftBottom)
+								.colorBottomRight(topLeftDiagonal)
+								.colorTopRight(topLeftTop),
+
+						// Bottom left
+						preserve(corner.alignTopRight(box().bottomLeft()))
+								.colorTopLeft(bottomLeftTop)
+								.colorBottomLeft(bottomLeft)
+								.colorBottomRight(bottomLeftBottom)
+								.colorTopRight(bottomLeftDiagonal),
+
+						// Bottom right
+						preserve(corner.alignTopLeft(box().bottomRight()))
+								.colorTopLeft(bottomRightDiagonal)
+								.colorBottomLeft(bottomRightBottom)
+								.colorBottomRight(bottomRight)
+								.colorTopRight(bottomRightTop),
+
+						// Top right
+						preserve(corner.alignBottomLeft(box().topRight()))
+								.colorTopLeft(topRightTop)
+								.colorBottomLeft(topRightDiagonal)
+								.colorBottomRight(topRightBottom)
+								.colorTopRight(topRight),
+
+						// Top
+						preserve(gapHorizontal.alignBottomLeft(box().topLeft()))
+								.colorTopLeft(topLeftTop)
+								.colorBottomLeft(topLeftDiagonal)
+								.colorBottomRight(topRightDiagonal)
+								.colorTopRight(topRightTop),
+
+						// Bottom
+						preserve(gapHorizontal.alignTopLeft(box().bottomLeft()))
+								.colorTopLeft(bottomLeftDiagonal)
+								.colorBottomLeft(bottomLeftBottom)
+								.colorBottomRight(bottomRightBottom)
+								.colorTopRight(bottomRightDiagonal),
+
+						// Left
+						preserve(gapVertical.alignTopRight(box().topLeft()))
+								.colorTopLeft(topLeftBottom)
+								.colorBottomLeft(bottomLeftTop)
+								.colorBottomRight(bottomLeftDiagonal)
+								.colorTopRight(topLeftDiagonal),
+
+						// Right
+						preserve(gapVertical.alignTopLeft(box().topRight()))
+								.colorTopLeft(topRightDiagonal)
+								.colorBottomLeft(bottomRightDiagonal)
+								.colorBottomRight(bottomRightTop)
+								.colorTopRight(topRightBottom)
+				};
+
+				// The pieces are written into one buffer, and merged with the inner rectangle if possible
+				Batch.batchWith(() -> {
+					if (mode() == OutliningMode.NORMAL) {
+						Rectangle.this.render();
+					}
+
+					if (hasTexture()) {
+						for (Rectangle piece : pieces) {
+							piece.render();
+						}
+						return;
+					}
+
+					Matrix4f matrix = matrixStack().peek().getPositionMatrix();
+
+					Batch.draw(
+							new Batch.Group(VertexFormats.POSITION_COLOR, State.COLOR.shaderProgram(), null, true),
+							builder -> {
+								for (Rectangle piece : pieces) {
+									if (piece.isRenderable()) {
+										piece.renderMesh(builder, matrix);
+									}
+								}
+							}
+					);
+				});
 			}
 
 			// 'Outlined'
@@ -959,7 +1380,7 @@ public class Flat extends Basic {
 				double offset, double arc, Breadth breadth,
 				@Nullable AccurateColor colorCenter, @Nullable ColorTable colors,
 				double opacityMultiplier,
-				ColorStandard.MixMode mixMode, VertexProvider outline, OvalMode mode
+				ColorStandard.MixMode mixMode, VertexProvider outline, OvalMode mode, boolean distanceField
 		) {
 			this.offset = Theory.mod(offset, 2 * Math.PI);
 			this.arc = Theory.clamp(arc, -2 * Math.PI, 2 * Math.PI);
@@ -972,6 +1393,16 @@ public class Flat extends Basic {
 			this.mixMode = mixMode;
 			this.outline = outline;
 			this.mode = mode;
+			this.distanceField = distanceField;
+		}
+
+		public Oval(
+				double offset, double arc, Breadth breadth,
+				@Nullable AccurateColor colorCenter, @Nullable ColorTable colors,
+				double opacityMultiplier,
+				ColorStandard.MixMode mixMode, VertexProvider outline, OvalMode mode
+		) {
+			this(offset, arc, breadth, colorCenter, colors, opacityMultiplier, mixMode, outline, mode, false);
 		}
 
 		public Oval(double offset, double arc, AccurateColor color) {
@@ -1010,10 +1441,24 @@ public class Flat extends Basic {
 					this.breadth = breadth;
 				}
 
+				public double breadth() {
+					return breadth;
+				}
+
 				@Override
 				public double breadth(double radius) {
 					return breadth;
 				}
+
+				@Override
+				public boolean equals(Object another) {
+					return another instanceof Constant constant && Double.compare(breadth(), constant.breadth()) == 0;
+				}
+
+				@Override
+				public int hashCode() {
+					return Double.hashCode(breadth());
+				}
 			}
 
 			public static class Dynamic extends Breadth {
@@ -1023,10 +1468,24 @@ public class Flat extends Basic {
 					this.scalar = scalar;
 				}
 
+				public double scalar() {
+					return scalar;
+				}
+
 				@Override
 				public double breadth(double radius) {
 					return radius * scalar;
 				}
+
+				@Override
+				public boolean equals(Object another) {
+					return another instanceof Dynamic dynamic && Double.compare(scalar(), dynamic.scalar()) == 0;
+				}
+
+				@Override
+				public int hashCode() {
+					return 31 * Double.hashCode(scalar());
+				}
 			}
 		}
 
@@ -1077,10 +1536,12 @@ public class Flat extends Basic {
 
 				LinkedHashMap<Double, @NotNull AccurateColor> sorted = new LinkedHashMap<>();
 
+				// Offsets are wrapped into range before sorting, as the lookups binary search them. Offsets wrapping
+				// onto the same one are merged, keeping the latter color
 				colors.entrySet().stream()
-						.sorted(Map.Entry.comparingByKey())
 						.map(ColorTable::check)
-						.forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+						.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (former, latter) -> latter, TreeMap::new))
+						.forEach(sorted::put);
 
 				return sorted;
 			}
@@ -1095,6 +1556,22 @@ public class Flat extends Basic {
 
 			public ColorTable(@Nullable Map<Double, @NotNull AccurateColor> colors) {
 				this.colors = colors == null ? ImmutableMap.of() : ImmutableMap.copyOf(sort(new LinkedHashMap<>(colors)));
+
+				this.offsets = new double[this.colors.size()];
+				this.values = new AccurateColor[this.colors.size()];
+				this.nextValues = new AccurateColor[this.colors.size()];
+
+				int index = 0;
+				for (Map.Entry<Double, @NotNull AccurateColor> entry : this.colors.entrySet()) {
+					offsets[index] = entry.getKey();
+					values[index] = entry.getValue();
+					index++;
+				}
+
+				// Converts every color ahead of time into the colorspace of its predecessor, in which they are mixed
+				for (int i = 0; i < values.length; i++) {
+					nextValues[i] = values[(i + 1) % values.length].colorspace(values[i].colorspace());
+				}
 			}
 			
 			public ColorTable() {
@@ -1102,13 +1579,17 @@ public class Flat extends Basic {
 			}
 
 			private final @NotNull ImmutableMap<Double, @NotNull AccurateColor> colors;
+			private final double[] offsets;
+			private final @NotNull AccurateColor[] values, nextValues;
+			private @Nullable ColorStandard.MixMode sampledMixMode;
+			private @Nullable float[] samples;
 
 			public @NotNull ImmutableMap<Double, @NotNull AccurateColor> colors() {
 				return colors;
 			}
 
 			public boolean hasColor() {
-				return !colors().isEmpty();
+				return offsets.length > 0;
 			}
 
 			public ColorTable putColor(double offset, @Nullable AccurateColor color) {
@@ -1120,68 +1601,101 @@ public class Flat extends Basic {
 				return new ColorTable(colors);
 			}
 
-			public @Nullable Map.Entry<Double, @NotNull AccurateColor> previous(double offset) {
-				if (!hasColor()) return null;
-				assert !colors().isEmpty();
+			/**
+			 * @return	the index of the last color whose offset is not greater than the given offset, wrapping around
+			 * 			to the last color if there is none. The offset must be in range.
+			 */
+			private int previousIndex(double targetOffset) {
+				int index = Arrays.binarySearch(offsets, targetOffset);
 
-				final double targetOffset = modOffset(offset);
+				if (index < 0) {
+					index = -index - 2; // The insertion point minus one
+				}
 
-				Optional<Map.Entry<Double, @NotNull AccurateColor>> previous = colors().entrySet().stream()
-																					   .filter(entry -> entry.getKey() <= targetOffset)
-																					   .reduce((first, second) -> second)
-																					   .stream()
-																					   .findFirst();
+				return index < 0 ? offsets.length - 1 : index;
+			}
 
-				Map.Entry<Double, @NotNull AccurateColor> last = colors().entrySet().stream()
-																		 .reduce((first, second) -> second)
-																		 .stream().
-																		 findFirst()
-																		 .orElse(null);
+			/**
+			 * @return	the index of the first color whose offset is not less than the given offset, wrapping around
+			 * 			to the first color if there is none. The offset must be in range.
+			 */
+			private int nextIndex(double targetOffset) {
+				int index = Arrays.binarySearch(offsets, targetOffset);
 
-				return previous.orElse(last);
+				if (index < 0) {
+					index = -index - 1; // The insertion point
+				}
+
+				return index >= offsets.length ? 0 : index;
 			}
 
-			public @Nullable Map.Entry<Double, @NotNull AccurateColor> next(double offset) {
+			public @Nullable Map.Entry<Double, @NotNull AccurateColor> previous(double offset) {
 				if (!hasColor()) return null;
-				assert !colors().isEmpty();
-
-				final double targetOffset = modOffset(offset);
 
-				Optional<Map.Entry<Double, @NotNull AccurateColor>> next = colors().entrySet().stream()
-																				   .filter(entry -> entry.getKey() >= targetOffset)
-																				   .findFirst();
+				int index = previousIndex(modOffset(offset));
+				return new AbstractMap.SimpleImmutableEntry<>(offsets[index], values[index]);
+			}
 
-				Map.Entry<Double, @NotNull AccurateColor> first = colors().entrySet().stream()
-																		  .findFirst()
-																		  .orElse(null);
+			public @Nullable Map.Entry<Double, @NotNull AccurateColor> next(double offset) {
+				if (!hasColor()) return null;
 
-				return next.orElse(first);
+				int index = nextIndex(modOffset(offset));
+				return new AbstractMap.SimpleImmutableEntry<>(offsets[index], values[index]);
 			}
 
 			public @NotNull AccurateColor colorAt(double offset, ColorStandard.MixMode mixMode) {
 				if (!hasColor()) return Palette.TRANSPARENT;
 				offset = modOffset(offset);
 
-				@Nullable Map.Entry<Double, @NotNull AccurateColor>
-						previous = previous(offset),
-						next = next(offset);
-
-				if (previous == null || next == null) {
-					if (previous == null && next == null) {
-						return Palette.TRANSPARENT;
-					} else return Objects.requireNonNullElse(previous, next).getValue();
-				}
+				int
+						previous = previousIndex(offset),
+						next = nextIndex(offset);
 
 				double
-						previousOffset = previous.getKey(),
-						nextOffset = next.getKey(),
+						previousOffset = offsets[previous],
+						nextOffset = offsets[next],
 						previousDistance = Math.abs(previousOffset + (previousOffset >= offset ? -2 * Math.PI : 0) - offset),
 						nextDistance = Math.abs(nextOffset + (nextOffset <= offset ? 2 * Math.PI : 0) - offset),
 						totalDistance = previousDistance + nextDistance;
 
 				double ratio = totalDistance != 0 ? previousDistance / totalDistance : 0;
 
-				return previous.getValue().mix(next.getValue(), ratio, mixMode);
+				// The next color is either the successor of the previous one, or the previous one itself on an exact match
+				AccurateColor nextColor = next == (previous + 1) % offsets.length ? nextValues[previous] : values[next];
+
+				return values[previous].mix(nextColor, ratio, mixMode);
+			}
+
+			/**
+			 * Samples the colors evenly over a full turn, starting at offset {@code 0}, into a lookup table of
+			 * {@link Colorspace#RGB} colors and opacities. The latest lookup table is kept, so sampling again with
+			 * the same arguments is free.
+			 * @param sampleCount	the number of samples.
+			 * @param mixMode		the mix mode.
+			 * @return	the RGBA quadruples of the samples, in a flat array of length {@code sampleCount * 4}. A color
+			 * 			without a color sample is stored as transparent black.
+			 */
+			public float[] sample(int sampleCount, ColorStandard.MixMode mixMode) {
+				if (samples != null && samples.length == sampleCount * 4 && sampledMixMode == mixMode) {
+					return samples;
+				}
+
+				float[] samples = new float[sampleCount * 4];
+
+				for (int i = 0; i < sampleCount; i++) {
+					AccurateColor color = colorAt(2 * Math.PI * i / sampleCount, mixMode);
+					if (!color.hasColor()) continue;
+
+					samples[i * 4] = color.redAsFloat();
+					samples[i * 4 + 1] = color.greenAsFloat();
+					samples[i * 4 + 2] = color.blueAsFloat();
+					samples[i * 4 + 3] = color.opacityAsFloat();
+				}
+
+				this.samples = samples;
+				this.sampledMixMode = mixMode;
+
+				return samples;
 			}
 		}
 
@@ -1223,6 +1737,72 @@ public class Flat extends Basic {
 		private final ColorStandard.MixMode mixMode;
 		private final VertexProvider outline;
 		private final OvalMode mode;
+		private final boolean distanceField;
+
+		private static final Batch.Group GROUP = new Batch.Group(VertexFormats.POSITION_COLOR, Rectangle.State.COLOR.shaderProgram(), null, true);
+		private static final int COLOR_SAMPLES = 64;
+
+		/**
+		 * The vertices of a tessellated oval relative to its center, computed once for every shape and shared by all
+		 * ovals of the same shape.
+		 * @param offsets		the offsets of the segments.
+		 * @param inners		the inner vertices, as {@code x, y} pairs.
+		 * @param outers		the outer vertices, as {@code x, y} pairs.
+		 * @param radiusFactors	the radius factors of the inner vertices.
+		 */
+		private record Tessellation(double[] offsets, double[] inners, double[] outers, double[] radiusFactors) {
+			private static Tessellation of(double width, double height, double offset, double arc, Breadth breadth, VertexProvider outline) {
+				Box box = Box.fromCartesianCentered(width, height);
+				double delta = Math.max(0.1, 10 / (Math.max(width, height) * Math.PI)); // Approximately 10 pixels per segment
+				int count = 0;
+
+				// One more segment than the arc covers, clamped to the end of the arc
+				for (double current = offset; arc >= 0 ? current <= offset + arc + delta : current >= offset + arc - delta; current += arc >= 0 ? delta : -delta) {
+					count++;
+				}
+
+				double[]
+						offsets = new double[count],
+						inners = new double[count * 2],
+						outers = new double[count * 2],
+						radiusFactors = new double[count];
+
+				for (int i = 0; i < count; i++) {
+					double clampedOffset = Theory.clamp(offset + (arc >= 0 ? i : -i) * delta, offset - arc, offset + arc); // Prevents offset from exceeding the end of the arc
+
+					Vector
+							edge = VertexProvider.NONE.outerVertexAt(box, clampedOffset, breadth),
+							innerEdge = outline.innerVertexAt(box, clampedOffset, breadth),
+							outerEdge = outline.outerVertexAt(box, clampedOffset, breadth),
+							inner = outline == VertexProvider.NONE ? box.center() : innerEdge;
+					double radius = edge.distanceTo(box.center());
+
+					offsets[i] = clampedOffset;
+					inners[i * 2] = inner.x();
+					inners[i * 2 + 1] = inner.y();
+					outers[i * 2] = outerEdge.x();
+					outers[i * 2 + 1] = outerEdge.y();
+					radiusFactors[i] = 1 - (edge.distanceTo(innerEdge) + edge.distanceTo(outerEdge)) / radius;
+				}
+
+				return new Tessellation(offsets, inners, outers, radiusFactors);
+			}
+		}
+
+		private record TessellationKey(long width, long height, long offset, long arc, Breadth breadth, VertexProvider outline) {
+		}
+
+		private static final double TESSELLATION_QUANTUM = 1 / 16.0;
+		// Under a pixel of drift along the edge of ovals smaller than 160 pixels, while animated ovals only miss the
+		// cache once they turn by a step
+		private static final double TESSELLATION_ANGLE_QUANTUM = 2 * Math.PI / 1024;
+		private static final int TESSELLATION_CACHE_SIZE = 256;
+		private static final Map<TessellationKey, Tessellation> TESSELLATIONS = new LinkedHashMap<>(16, 0.75F, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<TessellationKey, Tessellation> eldest) {
+				return size() > TESSELLATION_CACHE_SIZE;
+			}
+		};
 
 		// Accessors
 
@@ -1262,46 +1842,56 @@ public class Flat extends Basic {
 			return mode;
 		}
 
+		/**
+		 * @return	{@code true -} if the oval is rendered as a single quad, whose fragments evaluate the distance to the
+		 * 			edges of the oval. Only {@link Breadth.Constant} and {@link Breadth.Dynamic} breadths are supported,
+		 * 			other ovals fall back to tessellation.
+		 * <br />	{@code false -} if the oval is always tessellated.
+		 */
+		public boolean distanceField() {
+			return distanceField;
+		}
+
 		// Mutators
 
 		public Oval parent(UnaryOperator<Flat> flat) {
-			return flat.apply(Flat.this).new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode());
+			return flat.apply(Flat.this).new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval offset(double offset) {
-			return new Oval(offset, arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode());
+			return new Oval(offset, arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval arc(double radians) {
-			return new Oval(offset(), radians, breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode());
+			return new Oval(offset(), radians, breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval breadth(Breadth breadth) {
-			return new Oval(offset(), arc(), breadth, colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode());
+			return new Oval(offset(), arc(), breadth, colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval colorCenter(@Nullable AccurateColor colorCenter) {
-			return new Oval(offset(), arc(), breadth(), colorCenter, colors(), opacityMultiplier(), mixMode(), outline(), mode());
+			return new Oval(offset(), arc(), breadth(), colorCenter, colors(), opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval colors(@Nullable ColorTable colors) {
-			return new Oval(offset(), arc(), breadth(), colorCenter(), colors, opacityMultiplier(), mixMode(), outline(), mode());
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors, opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval addColor(double offset, @Nullable AccurateColor color) {
-			return new Oval(offset(), arc(), breadth(), colorCenter(), colors().putColor(offset, color), opacityMultiplier(), mixMode(), outline(), mode());
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors().putColor(offset, color), opacityMultiplier(), mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval opacityMultiplier(double opacityMultiplier) {
-			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier, mixMode(), outline(), mode());
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier, mixMode(), outline(), mode(), distanceField());
 		}
 
 		public Oval mixMode(ColorStandard.MixMode mixMode) {
-			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode, outline(), mode());
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode, outline(), mode(), distanceField());
 		}
 
 		public Oval outline(VertexProvider outline) {
-			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline, mode());
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline, mode(), distanceField());
 		}
 
 		public Oval outline(VertexProvider outline, Breadth breadth) {
@@ -1317,7 +1907,19 @@ public class Flat extends Basic {
 		}
 
 		public Oval mode(OvalMode mode) {
-			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode);
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode, distanceField());
+		}
+
+		public Oval distanceField(boolean distanceField) {
+			return new Oval(offset(), arc(), breadth(), colorCenter(), colors(), opacityMultiplier(), mixMode(), outline(), mode(), distanceField);
+		}
+
+		public Oval enableDistanceField() {
+			return distanceField(true);
+		}
+
+		public Oval disableDistanceField() {
+			return distanceField(false);
 		}
 
 		// Properties
@@ -1352,7 +1954,7 @@ public class Flat extends Basic {
 
 		private void renderVertex(BufferBuilder builder, Matrix4f matrix, Vector vertex, AccurateColor color, float z) {
 			builder.vertex(matrix, (float) vertex.x(), (float) vertex.y(), z)
-					.color(color.redAsFloat(), color.greenAsFloat(), color.blueAsFloat(), color.opacityAsFloat())
+					.color(color.argb())
 					.next();
 		}
 
@@ -1364,87 +1966,162 @@ public class Flat extends Basic {
 			renderVertex(builder, matrix, outerVertexAt(offset), color, z);
 		}
 
-		private double delta() {
-			double maxLength = Math.max(box().w(), box().h());
-			return Math.max(0.1, 10 / (maxLength * Math.PI)); // Approximately 10 pixels per segment
+		// Interface Implementations
+
+		@Override
+		public boolean isRenderable() {
+			return (hasCenter() || hasColor()) && !Theory.looseEquals(arc(), 0) && Renderable.isLegal(box());
 		}
 
-		private double clampOffset(double offset) {
-			return Theory.clamp(offset, offset() - arc(), offset() + arc());
+		private boolean isDistanceFieldRenderable() {
+			return distanceField() && ShaderManager.ovalDistanceField() != null
+						   && (breadth() instanceof Breadth.Constant || breadth() instanceof Breadth.Dynamic);
 		}
 
-		private double nextOffset(double offset) {
-			boolean positive = arc() >= 0;
+		/**
+		 * @return	the multipliers of the breadth at the inner and the outer edges, as used by the {@link #outline()}.
+		 */
+		private double[] outlineBounds() {
+			return switch (outline()) {
+				case NONE -> new double[] { 0, 0 };
+				case INNER -> new double[] { -1, 0 };
+				case OUTER -> new double[] { 0, 1 };
+				case BOTH -> new double[] { -0.5, 0.5 };
+			};
+		}
 
-			if (positive) {
-				return offset + delta();
-			} else {
-				return offset - delta();
+		/**
+		 * @return	the bounds covering the oval and its breadth, or {@code null} if they can't be told, for example
+		 * 			when the breadth is customized.
+		 */
+		private @Nullable Box visibleBounds() {
+			double[] bounds = outlineBounds();
+			double multiplier = Math.max(Math.abs(bounds[0]), Math.abs(bounds[1]));
+
+			if (breadth() instanceof Breadth.Constant constant) {
+				return box().expand(Math.abs(constant.breadth()) * multiplier);
+			}
+
+			if (breadth() instanceof Breadth.Dynamic dynamic) {
+				return box().expand(Math.max(box().w(), box().h()) / 2 * Math.abs(dynamic.scalar()) * multiplier);
 			}
+
+			return null;
 		}
 
-		private boolean isOffsetLegal(double offset) {
-			return arc() >= 0 ? offset <= offset() + arc() + delta() : offset >= offset() + arc() - delta();
+		private double breadthValue() {
+			return breadth() instanceof Breadth.Dynamic dynamic ? dynamic.scalar() : ((Breadth.Constant) breadth()).breadth();
 		}
 
-		// Interface Implementations
+		private void applyDistanceFieldUniforms(ShaderProgram shaderProgram) {
+			double[] bounds = outlineBounds();
+			float[] colors = colors().sample(COLOR_SAMPLES, mixMode());
 
-		@Override
-		public boolean isRenderable() {
-			return (hasCenter() || hasColor()) && !Theory.looseEquals(arc(), 0) && Renderable.isLegal(box());
+			Optional.ofNullable(shaderProgram.getUniform("Radii")).ifPresent(uniform -> uniform.set((float) box().w() / 2, (float) box().h() / 2));
+			Optional.ofNullable(shaderProgram.getUniform("Arc")).ifPresent(uniform -> uniform.set((float) offset(), (float) arc()));
+			Optional.ofNullable(shaderProgram.getUniform("Breadth")).ifPresent(uniform -> uniform.set((float) breadthValue()));
+			Optional.ofNullable(shaderProgram.getUniform("BreadthMode")).ifPresent(uniform -> uniform.set(breadth() instanceof Breadth.Dynamic ? 1 : 0));
+			Optional.ofNullable(shaderProgram.getUniform("Bounds")).ifPresent(uniform -> uniform.set((float) bounds[0], (float) bounds[1]));
+			Optional.ofNullable(shaderProgram.getUniform("Filled")).ifPresent(uniform -> uniform.set(outline() == VertexProvider.NONE ? 1 : 0));
+			Optional.ofNullable(shaderProgram.getUniform("ColorCenter")).ifPresent(uniform -> uniform.set(
+					colorCenter().redAsFloat(), colorCenter().greenAsFloat(), colorCenter().blueAsFloat(), colorCenter().opacityAsFloat()
+			));
+			Optional.ofNullable(shaderProgram.getUniform("OpacityMultiplier")).ifPresent(uniform -> uniform.set((float) opacityMultiplier()));
+			Optional.ofNullable(shaderProgram.getUniform("OvalMode")).ifPresent(uniform -> uniform.set(mode().ordinal()));
+			Optional.ofNullable(shaderProgram.getUniform("Colors")).ifPresent(uniform -> uniform.set(colors));
+		}
+
+		/**
+		 * Emits a single quad covering the oval and its breadth, whose texture coordinates are the offsets from the center.
+		 */
+		private void renderDistanceField(BufferBuilder builder, Matrix4f matrix) {
+			double[] bounds = outlineBounds();
+			double
+					maxBreadth = breadth() instanceof Breadth.Dynamic
+										 ? Math.abs(breadthValue()) * Math.max(box().w(), box().h()) / 2
+										 : Math.abs(breadthValue()),
+					extent = maxBreadth * Math.max(Math.abs(bounds[0]), Math.abs(bounds[1])) + 1, // One more pixel for antialiasing
+					xRadius = box().w() / 2 + extent, yRadius = box().h() / 2 + extent;
+
+			renderDistanceFieldCorner(builder, matrix, -xRadius, -yRadius);
+			renderDistanceFieldCorner(builder, matrix, -xRadius, yRadius);
+			renderDistanceFieldCorner(builder, matrix, xRadius, yRadius);
+			renderDistanceFieldCorner(builder, matrix, xRadius, -yRadius);
+		}
+
+		private void renderDistanceFieldCorner(BufferBuilder builder, Matrix4f matrix, double x, double y) {
+			Vector vertex = box().center().add(x, y);
+			builder.vertex(matrix, (float) vertex.x(), (float) vertex.y(), z())
+					.texture((float) x, (float) y)
+					.next();
+		}
+
+		private Tessellation tessellation() {
+			long
+					width = Math.round(box().w() / TESSELLATION_QUANTUM),
+					height = Math.round(box().h() / TESSELLATION_QUANTUM),
+					offset = Math.round(offset() / TESSELLATION_ANGLE_QUANTUM),
+					arc = Math.round(arc() / TESSELLATION_ANGLE_QUANTUM);
+
+			return TESSELLATIONS.computeIfAbsent(
+					new TessellationKey(width, height, offset, arc, breadth(), outline()),
+					key -> Tessellation.of(
+							key.width() * TESSELLATION_QUANTUM, key.height() * TESSELLATION_QUANTUM,
+							key.offset() * TESSELLATION_ANGLE_QUANTUM, key.arc() * TESSELLATION_ANGLE_QUANTUM,
+							key.breadth(), key.outline()
+					)
+			);
+		}
+
+		private void renderTessellatedVertex(BufferBuilder builder, Matrix4f matrix, Vector center, double[] vertices, int index, AccurateColor color) {
+			builder.vertex(matrix, (float) (center.x() + vertices[index * 2]), (float) (center.y() + vertices[index * 2 + 1]), z())
+					.color(color.argb())
+					.next();
 		}
 
 		@Override
 		public void render() {
 			if (!isRenderable()) return;
 
-			RenderSystem.enableBlend();
-			RenderSystem.setShader(GameRenderer::getPositionColorProgram);
-			RenderSystem.disableCull(); // Prevents triangles from being culled
+			Box bounds = visibleBounds();
+			if (bounds != null && !isVisible(bounds)) return;
 
-			BufferBuilder builder = Tessellator.getInstance().getBuffer();
 			Matrix4f matrix = matrixStack().peek().getPositionMatrix();
 
-			if (outline() == VertexProvider.NONE) { // Full circle
-				builder.begin(VertexFormat.DrawMode.TRIANGLE_FAN, VertexFormats.POSITION_COLOR);
-
-				renderVertex(builder, matrix, box().center(), colorCenter(), z());
-			} else { // Ring
-				builder.begin(VertexFormat.DrawMode.TRIANGLE_STRIP, VertexFormats.POSITION_COLOR);
+			if (isDistanceFieldRenderable()) {
+				Batch.draw(
+						new Batch.Group(VertexFormats.POSITION_TEXTURE, ShaderManager::ovalDistanceField, null, true, this::applyDistanceFieldUniforms),
+						builder -> renderDistanceField(builder, matrix)
+				);
+				return;
 			}
 
-			for (
-					double offset = offset();
-					isOffsetLegal(offset);
-					offset = nextOffset(offset)
-			) {
-				double clampedOffset = clampOffset(offset); // Prevents offset from exceeding the end of the arc
+			Tessellation tessellation = tessellation();
+			Vector center = box().center();
 
-				Vector
-						edge = VertexProvider.NONE.outerVertexAt(box(), clampedOffset, breadth()),
-						innerEdge = innerVertexAt(clampedOffset),
-						outerEdge = outerVertexAt(clampedOffset);
-				double
-						radius = edge.distanceTo(box().center()),
-						radiusFactor = 1 - (edge.distanceTo(innerEdge) + edge.distanceTo(outerEdge)) / radius;
-
-				if (outline() != VertexProvider.NONE) { // Ring
-					// Render the inner (center) vertex
-					renderVertex(builder, matrix, innerEdge,
-							mode().colorAt(this, clampedOffset - offset(), radiusFactor)
-									.multiplyOpacity(opacityMultiplier()), z());
-				}
+			Batch.draw(GROUP, builder -> {
+				@Nullable AccurateColor previousInnerColor = null, previousOuterColor = null;
 
-				// Render the outer vertex
-				renderVertex(builder, matrix, outerEdge,
-						mode().colorAt(this, clampedOffset - offset(), 1)
-								.multiplyOpacity(opacityMultiplier()), z());
-			}
+				for (int i = 0; i < tessellation.offsets().length; i++) {
+					double relativeOffset = tessellation.offsets()[i] - offset();
+					AccurateColor
+							innerColor = outline() == VertexProvider.NONE
+												 ? colorCenter() // Full circle
+												 : mode().colorAt(this, relativeOffset, tessellation.radiusFactors()[i]).multiplyOpacity(opacityMultiplier()), // Ring
+							outerColor = mode().colorAt(this, relativeOffset, 1).multiplyOpacity(opacityMultiplier());
 
-			BufferRenderer.drawWithGlobalProgram(builder.end());
+					// Every segment is a quad, which degenerates into a triangle for full circles
+					if (previousInnerColor != null && previousOuterColor != null) {
+						renderTessellatedVertex(builder, matrix, center, tessellation.inners(), i - 1, previousInnerColor);
+						renderTessellatedVertex(builder, matrix, center, tessellation.outers(), i - 1, previousOuterColor);
+						renderTessellatedVertex(builder, matrix, center, tessellation.outers(), i, outerColor);
+						renderTessellatedVertex(builder, matrix, center, tessellation.inners(), i, innerColor);
+					}
 
-			RenderSystem.disableBlend();
-			RenderSystem.enableCull();
+					previousInnerColor = innerColor;
+					previousOuterColor = outerColor;
+				}
+			});
 		}
 
 		// 'Oval'
@@ -1583,7 +2260,24 @@ public class Flat extends Basic {
 		}
 
 		public double height() {
-			return section().wrappedHeight(box().w()) + Theory.EPSILON;
+			return layout().height() + Theory.EPSILON;
+		}
+
+		/**
+		 * @return	the text rendered from a cached {@link GlyphMesh}.
+		 * @see Baked
+		 */
+		public Baked baked() {
+			return new Baked();
+		}
+
+		/**
+		 * @return	the layout of the section wrapped to the width of the box. Large sections are laid out in the
+		 * 			background, showing their latest layout meanwhile.
+		 * @see Section#layoutOrLatest(double)
+		 */
+		public TextLayout layout() {
+			return section().layoutOrLatest(box().w());
 		}
 
 		// Interface Implementations
@@ -1596,6 +2290,9 @@ public class Flat extends Basic {
 		@Override
 		public void render() {
 			if (!isRenderable()) return;
+			if (culled() && !isVisible(box())) return;
+
+			Batch.flush();
 
 			Scissor scissor = box().scissor();
 
@@ -1606,7 +2303,9 @@ public class Flat extends Basic {
 			matrixStack().push();
 			matrixStack().translate(box().x(), box().y(), 0);
 
-			section().render(box().alignTopLeft(Vector.ZERO), context(), textRenderer(), color(), verticalAlignment(), horizontalAlignment(), shadowed());
+			// Only the lines within the clip are rendered
+			layout().render(box().alignTopLeft(Vector.ZERO), visibleRegion(), context(), textRenderer(), color(), verticalAlignment(), horizontalAlignment(), shadowed());
+			if (Offscreen.isDrawing()) Offscreen.blendFunc(); // The text layers reset the alpha blending
 
 			matrixStack().pop();
 
@@ -1615,6 +2314,78 @@ public class Flat extends Basic {
 			}
 		}
 
+		/**
+		 * <h1>Baked</h1>
+		 * Renders the text from a {@link GlyphMesh} captured on first use, so that static texts such as labels are
+		 * redrawn with a single transformation instead of being emitted glyph by glyph every frame. The opacity is
+		 * applied while drawing, so fading a baked text reuses its mesh. Any other change, such as of the width, the
+		 * color or the content, captures a new mesh, thus texts whose width or color are animated should be rendered
+		 * as plain {@link Text}s instead.
+		 * <br />
+		 * <br />
+		 * All the lines are captured, thus long texts scrolled within a clip should be rendered as plain
+		 * {@link Text}s as well, which render only their visible lines.
+		 * @see Text#baked()
+		 */
+		public class Baked implements Renderable {
+			// Interface Implementations
+
+			@Override
+			public boolean isRenderable() {
+				return Text.this.isRenderable();
+			}
+
+			@Override
+			public void render() {
+				if (!isRenderable()) return;
+				if (culled() && !isVisible(box())) return;
+
+				TextLayout layout = layout();
+
+				if (layout.isEmpty() || layout.width() != box().w()) {
+					// Layouts still in progress are not captured, as they would be cached as the final ones
+					Text.this.render();
+					return;
+				}
+
+				@NotNull AccurateColor color = Objects.requireNonNull(color());
+				@NotNull AccurateColor opaque = color.opacity(1);
+
+				// Keyed by value, so that the mesh outlives the cached layout. The layout is captured at its own size,
+				// and aligned in the box while drawing
+				GlyphMesh glyphMesh = GlyphMesh.of(
+						List.of(section().contentKey(), layout.width(), opaque, shadowed(), horizontalAlignment(), textRenderer()),
+						vertexConsumers -> layout.emit(
+								Box.fromCartesian(layout.width(), layout.height()), null, new MatrixStack(), vertexConsumers,
+								textRenderer(), opaque, Section.Alignment.TOP, horizontalAlignment(), shadowed()
+						)
+				);
+
+				Box aligned = verticalAlignment().apply(box(), layout.height());
+				// Almost transparent texts are drawn opaque, as the text renderer does
+				float opacity = (color.toInt() & 0xFC000000) == 0 ? 1 : color.opacityAsFloat();
+
+				Batch.flush();
+
+				Scissor scissor = box().scissor();
+
+				if (culled()) {
+					scissor.snipOn();
+				}
+
+				RenderSystem.setShaderColor(1, 1, 1, opacity);
+				glyphMesh.draw(new Matrix4f(matrixStack().peek().getPositionMatrix()).translate((float) aligned.x(), (float) aligned.y(), 0));
+				RenderSystem.setShaderColor(1, 1, 1, 1);
+				if (Offscreen.isDrawing()) Offscreen.blendFunc(); // The text layers reset the alpha blending
+
+				if (culled()) {
+					scissor.snipOff();
+				}
+			}
+
+			// 'Baked'
+		}
+
 		public class Tooltip implements Renderable {
 			// Constructors
 
@@ -1784,6 +2555,17 @@ public class Flat extends Basic {
 			return leftHanded(false);
 		}
 
+		// Properties
+
+		/**
+		 * Gets the cached icon of the item stack, ignoring the {@link #modifier()} and the handedness.
+		 * @param size	the size of the icon in pixels.
+		 * @return	a rectangle textured with the icon from the {@link IconAtlas}.
+		 */
+		public Rectangle icon(int size) {
+			return new Rectangle(IconAtlas.item(itemStack(), size));
+		}
+
 		// Interface Implementations
 
 		@Override
@@ -1796,8 +2578,8 @@ public class Flat extends Basic {
 			MinecraftClient.getInstance().getTextureManager().getTexture(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE).setFilter(false, false);
 			RenderSystem.setShaderTexture(0, SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE);
 
-			RenderSystem.enableBlend();
-			RenderSystem.blendFunc(GlStateManager.SrcFactor.SRC_ALPHA, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+			RenderState.blend(true);
+			Offscreen.blendFunc();
 			RenderSystem.setShaderColor(1, 1, 1, 1);
 		}
 
@@ -1809,35 +2591,57 @@ public class Flat extends Basic {
 			RenderSystem.applyModelViewMatrix();
 		}
 
+		/**
+		 * @return	{@code true -} if the item is renderable and may be visible on the screen.
+		 * <br />	{@code false -} otherwise.
+		 */
+		private boolean isModelVisible() {
+			return isRenderable() && isVisible(box().scaleCenter(2)); // Models may exceed their boxes
+		}
+
+		private BakedModel bakedModel() {
+			return MinecraftClient.getInstance().getItemRenderer().getModel(itemStack(), null, null, 0);
+		}
+
+		/**
+		 * Emits the vertices of the item model into the vertex consumers of the context, without drawing them.
+		 */
+		private void emitModel(BakedModel bakedModel) {
+			matrixStack().push();
+			matrixStack().translate(box().center().x(), box().center().y(), z());
+			applyModelView(matrixStack());
+
+			MinecraftClient.getInstance().getItemRenderer().renderItem(
+					itemStack(), ModelTransformationMode.GUI,
+					leftHanded(), matrixStack(), context().getVertexConsumers(),
+					0xF000F0, OverlayTexture.DEFAULT_UV, bakedModel
+			);
+
+			matrixStack().pop();
+		}
+
 		@Override
 		public void render() {
-			if (!isRenderable()) return;
+			if (!isModelVisible()) return;
+
+			Batch.flush();
 
 			renderItemModel: {
-				BakedModel bakedModel = MinecraftClient.getInstance().getItemRenderer().getModel(itemStack(), null, null, 0);
+				BakedModel bakedModel = bakedModel();
 
 				prepareModel();
 
-				matrixStack().push();
-				matrixStack().translate(box().center().x(), box().center().y(), z());
-				applyModelView(matrixStack());
-
 				if (!bakedModel.isSideLit())
 					DiffuseLighting.disableGuiDepthLighting();
 
-				MinecraftClient.getInstance().getItemRenderer().renderItem(
-						itemStack(), ModelTransformationMode.GUI,
-						leftHanded(), matrixStack(), context().getVertexConsumers(),
-						0xF000F0, OverlayTexture.DEFAULT_UV, bakedModel
-				);
+				emitModel(bakedModel);
 
 				context().draw();
-				RenderSystem.enableDepthTest();
+				RenderState.depthTest(true);
 
 				if (!bakedModel.isSideLit())
 					DiffuseLighting.enableGuiDepthLighting();
 
-				matrixStack().pop();
 				RenderSystem.applyModelViewMatrix();
 			}
 		}
@@ -1845,6 +2649,109 @@ public class Flat extends Basic {
 		// 'Item'
 	}
 
+	/**
+	 * <h1>Items</h1>
+	 * Renders several {@link Item}s at once. The model state is set up only once, and the items are drawn in at most
+	 * two flushes: one for the side-lit models and one for the flat models, so the diffuse lighting is toggled at
+	 * most once.
+	 * <br />
+	 * <br />
+	 * As the items are grouped by their lighting, the ones overlapping each other may be painted in a different order
+	 * than given. Items placed in a grid, as in inventories, are not affected. All the items are expected to share the
+	 * same {@link DrawContext}.
+	 */
+	public static class Items implements Renderable {
+		// Constructors
+
+		public Items(Collection<Item> items) {
+			this.items = List.copyOf(items);
+		}
+
+		public Items(Item... items) {
+			this(Arrays.asList(items));
+		}
+
+		// Fields
+
+		private final List<Item> items;
+
+		// Accessors
+
+		public List<Item> items() {
+			return items;
+		}
+
+		// Mutators
+
+		public Items items(Collection<Item> items) {
+			return new Items(items);
+		}
+
+		public Items add(Item... items) {
+			List<Item> added = new ArrayList<>(items());
+			added.addAll(Arrays.asList(items));
+			return new Items(added);
+		}
+
+		// Interface Implementations
+
+		@Override
+		public boolean isRenderable() {
+			return items().stream().anyMatch(Item::isRenderable);
+		}
+
+		@Override
+		public void render() {
+			List<Item> sideLit = new ArrayList<>(), flat = new ArrayList<>();
+			List<BakedModel> sideLitModels = new ArrayList<>(), flatModels = new ArrayList<>();
+
+			for (Item item : items()) {
+				if (!item.isModelVisible()) continue;
+
+				BakedModel bakedModel = item.bakedModel();
+
+				if (bakedModel.isSideLit()) {
+					sideLit.add(item);
+					sideLitModels.add(bakedModel);
+				} else {
+					flat.add(item);
+					flatModels.add(bakedModel);
+				}
+			}
+
+			if (sideLit.isEmpty() && flat.isEmpty()) return;
+
+			Item first = sideLit.isEmpty() ? flat.get(0) : sideLit.get(0);
+
+			Batch.flush();
+			first.prepareModel();
+
+			if (!sideLit.isEmpty()) {
+				for (int i = 0; i < sideLit.size(); i++) {
+					sideLit.get(i).emitModel(sideLitModels.get(i));
+				}
+
+				first.context().draw();
+			}
+
+			if (!flat.isEmpty()) {
+				DiffuseLighting.disableGuiDepthLighting();
+
+				for (int i = 0; i < flat.size(); i++) {
+					flat.get(i).emitModel(flatModels.get(i));
+				}
+
+				first.context().draw();
+				DiffuseLighting.enableGuiDepthLighting();
+			}
+
+			RenderState.depthTest(true);
+			RenderSystem.applyModelViewMatrix();
+		}
+
+		// 'Items'
+	}
+
 	public class Block implements Renderable {
 		// Constructors
 
@@ -1917,6 +2824,15 @@ public class Flat extends Basic {
 			return color() != null;
 		}
 
+		/**
+		 * Gets the cached icon of the block state, ignoring the {@link #modifier()}.
+		 * @param size	the size of the icon in pixels.
+		 * @return	a rectangle textured with the icon from the {@link IconAtlas}.
+		 */
+		public Rectangle icon(int size) {
+			return new Rectangle(IconAtlas.block(blockState(), color(), size));
+		}
+
 		// Interface Implementations
 
 		@Override
@@ -1927,16 +2843,21 @@ public class Flat extends Basic {
 		@Override
 		public void render() {
 			if (!isRenderable()) return;
+			if (!isVisible(box().scaleCenter(2))) return; // Models may exceed their boxes
+
+			Batch.flush();
 
 			renderBlockModel: {
 				BlockState blockState = blockState();
 
 				if (blockState.getRenderType() == BlockRenderType.INVISIBLE) break renderBlockModel;
 
-				RenderSystem.enableBlend();
-				RenderSystem.blendFunc(GlStateManager.SrcFactor.SRC_ALPHA, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+				RenderState.blend(true);
+				Offscreen.blendFunc();
 				RenderSystem.setShaderColor(1, 1, 1, 1);
 
+				boolean cull = RenderState.cull(), depthTest = RenderState.depthTest();
+
 				matrixStack().push();
 				matrixStack().translate(box.center().x(), box.center().y(), 0);
 
@@ -1945,34 +2866,34 @@ public class Flat extends Basic {
 				matrixStack().multiply(modifier().toFloat());
 
 				RenderSystem.applyModelViewMatrix();
-				RenderSystem.disableCull();
-				RenderSystem.enableDepthTest();
-
-				matrixStack().translate(-0.5, -0.5, -0.5);
+				RenderState.cull(false);
+				RenderState.depthTest(true);
 
 				switch (blockState.getRenderType()) {
 					case MODEL -> {
 						@NotNull AccurateColor color = hasColor() ? Objects.requireNonNull(color()) : Palette.WHITE;
+						@Nullable BlockMesh blockMesh = BlockMesh.of(blockState, color);
 
-						new BlockModelRenderer(MinecraftClient.getInstance().getBlockColors()).render(
-								matrixStack().peek(), context().getVertexConsumers().getBuffer(RenderLayers.getBlockLayer(blockState)), blockState,
-								MinecraftClient.getInstance().getBlockRenderManager().getModel(blockState),
-								color.redAsFloat(), color.greenAsFloat(), color.blueAsFloat(),
-								0xF000F0, OverlayTexture.DEFAULT_UV
-						);
+						if (blockMesh != null) {
+							blockMesh.draw(matrixStack().peek().getPositionMatrix());
+						}
 					}
 					case ENTITYBLOCK_ANIMATED -> {
+						matrixStack().translate(-0.5, -0.5, -0.5);
+
+						ItemStack itemStack = blockState.getBlock().asItem().getDefaultStack();
+
 						// FIXME: 2023/7/12 The lightning is incorrect
-						new BuiltinModelItemRenderer(MinecraftClient.getInstance().getBlockEntityRenderDispatcher(), MinecraftClient.getInstance().getEntityModelLoader()).render(
-								blockState.getBlock().asItem().getDefaultStack(), ModelTransformationMode.NONE,
+						IClientItemExtensions.of(itemStack).getCustomRenderer().render(
+								itemStack, ModelTransformationMode.NONE,
 								matrixStack(), context().getVertexConsumers(), 0xF000F0, OverlayTexture.DEFAULT_UV
 						);
 					}
 				}
 
 				context().draw();
-				RenderSystem.enableCull();
-				RenderSystem.disableDepthTest();
+				RenderState.cull(cull);
+				RenderState.depthTest(depthTest);
 
 				matrixStack().pop();
 				RenderSystem.applyModelViewMatrix();
@@ -2,6 +2,7 @@ package net.krlite.equator.render.vanilla;
 
 import net.krlite.equator.base.Cyclic;
 import net.krlite.equator.math.geometry.flat.Box;
+import net.krlite.equator.render.base.Batch;
 import net.krlite.equator.render.renderer.Flat;
 import net.krlite.equator.visual.color.Palette;
 import net.krlite.equator.visual.texture.Texture;
@@ -37,43 +38,46 @@ public class VanillaWidgets {
 
 	public static class Tooltip {
 		public static void render(DrawContext context, Box box) {
-			Box bleed = box.expand(-1);
-			Flat flat = new Flat(context, 0, box);
-
-			// Rectangle
-			flat.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
-
-			// Background border
-			flat.box(bleed.height(1))
-					.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
-
-			flat.box(bleed.height(1).alignBottom(box))
-					.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
-
-			flat.box(bleed.width(1).alignLeft(box))
-					.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
-
-			flat.box(bleed.width(1).alignRight(box))
-					.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
-
-			// Border
-			flat.box(bleed.height(1).alignTop(box.top() + 1))
-					.new Rectangle(Palette.Minecraft.TOOLTIP_BORDER_LIGHT).render();
-
-			flat.box(bleed.height(1).alignBottom(box.bottom() - 1))
-					.new Rectangle(Palette.Minecraft.TOOLTIP_BORDER_DARK).render();
-
-			flat.box(bleed.expand(-1).width(1).alignLeft(box.left() + 1))
-					.new Rectangle()
-					.colorTop(Palette.Minecraft.TOOLTIP_BORDER_LIGHT)
-					.colorBottom(Palette.Minecraft.TOOLTIP_BORDER_DARK)
-					.render();
-
-			flat.box(bleed.expand(-1).width(1).alignRight(box.right() - 1))
-					.new Rectangle()
-					.colorTop(Palette.Minecraft.TOOLTIP_BORDER_LIGHT)
-					.colorBottom(Palette.Minecraft.TOOLTIP_BORDER_DARK)
-					.render();
+			// All the pieces share the same state, so they are submitted in a single draw call
+			Batch.batchWith(() -> {
+				Box bleed = box.expand(-1);
+				Flat flat = new Flat(context, 0, box);
+
+				// Rectangle
+				flat.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
+
+				// Background border
+				flat.box(bleed.height(1))
+						.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
+
+				flat.box(bleed.height(1).alignBottom(box))
+						.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
+
+				flat.box(bleed.width(1).alignLeft(box))
+						.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
+
+				flat.box(bleed.width(1).alignRight(box))
+						.new Rectangle(Palette.Minecraft.TOOLTIP_BACKGROUND).render();
+
+				// Border
+				flat.box(bleed.height(1).alignTop(box.top() + 1))
+						.new Rectangle(Palette.Minecraft.TOOLTIP_BORDER_LIGHT).render();
+
+				flat.box(bleed.height(1).alignBottom(box.bottom() - 1))
+						.new Rectangle(Palette.Minecraft.TOOLTIP_BORDER_DARK).render();
+
+				flat.box(bleed.expand(-1).width(1).alignLeft(box.left() + 1))
+						.new Rectangle()
+						.colorTop(Palette.Minecraft.TOOLTIP_BORDER_LIGHT)
+						.colorBottom(Palette.Minecraft.TOOLTIP_BORDER_DARK)
+						.render();
+
+				flat.box(bleed.expand(-1).width(1).alignRight(box.right() - 1))
+						.new Rectangle()
+						.colorTop(Palette.Minecraft.TOOLTIP_BORDER_LIGHT)
+						.colorBottom(Palette.Minecraft.TOOLTIP_BORDER_DARK)
+						.render();
+			});
 		}
 	}
 }
@@ -5,6 +5,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
+import java.util.Arrays;
+import java.util.Objects;
 
 import static net.krlite.equator.visual.color.Colorspace.*;
 import static net.krlite.equator.visual.color.Palette.*;
@@ -88,6 +90,9 @@ public class AccurateColor {
 	private final double[] color;
 	private final double opacity;
 	private final boolean transparent;
+	// Packed lazily into a single field, set to the packed color with bit 32 set, so that the default 0 means not packed
+	// yet. Racing threads at most pack the same value again
+	private volatile long argb;
 
 	// Accessors
 
@@ -114,7 +119,7 @@ public class AccurateColor {
 	// Accessors: RGB Components
 
 	public double red() {
-		return new AccurateColor(this, RGB).color()[0];
+		return rgb()[0];
 	}
 
 	public float redAsFloat() {
@@ -126,7 +131,7 @@ public class AccurateColor {
 	}
 
 	public double green() {
-		return new AccurateColor(this, RGB).color()[1];
+		return rgb()[1];
 	}
 
 	public float greenAsFloat() {
@@ -138,7 +143,7 @@ public class AccurateColor {
 	}
 
 	public double blue() {
-		return new AccurateColor(this, RGB).color()[2];
+		return rgb()[2];
 	}
 
 	public float blueAsFloat() {
@@ -149,6 +154,28 @@ public class AccurateColor {
 		return (int) (blue() * 255);
 	}
 
+	/**
+	 * @return	the color packed as {@code 0xAARRGGBB}. It is converted on first call and cached afterward, so that
+	 * 			emitting the color repeatedly doesn't allocate. Unlike {@link #toInt()}, the components are clamped and
+	 * 			quantized the same way vertex consumers quantize float colors, so it is meant for vertex colors.
+	 * @see PackedColor
+	 */
+	public int argb() {
+		long argb = this.argb;
+
+		if (argb == 0) {
+			double[] rgb = rgb();
+			argb = PackedColor.pack(rgb[0], rgb[1], rgb[2], opacity()) & 0xFFFFFFFFL | 1L << 32;
+			this.argb = argb;
+		}
+
+		return (int) argb;
+	}
+
+	private double[] rgb() {
+		return colorspace() == RGB ? color() : RGB.from(color(), colorspace());
+	}
+
 	// Accessors: HSV/HSL Components
 
 	public double hue() {
@@ -422,6 +449,20 @@ public class AccurateColor {
 
 	// Object Methods
 
+	@Override
+	public boolean equals(Object another) {
+		if (this == another) return true;
+		if (!(another instanceof AccurateColor color)) return false;
+
+		return colorspace() == color.colorspace() && hasColor() == color.hasColor()
+					   && Double.compare(opacity(), color.opacity()) == 0 && Arrays.equals(color(), color.color());
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(colorspace(), hasColor(), opacity(), Arrays.hashCode(color()));
+	}
+
 	@Override
 	public String toString() {
 		return toString(false);
@@ -0,0 +1,40 @@
+package net.krlite.equator.visual.color;
+
+import net.krlite.equator.math.algebra.Theory;
+
+/**
+ * <h1>PackedColor</h1>
+ * Operations on colors packed into a single {@code int} as {@code 0xAARRGGBB}, with 8 bits per channel. Packed
+ * colors are plain primitives, so that they can be passed to vertex consumers without allocating.
+ * @see AccurateColor#argb()
+ */
+public class PackedColor {
+	/**
+	 * Packs the given RGB components and opacity. The components are clamped to {@code [0, 1]} and quantized the same
+	 * way as vertex consumers quantize float colors.
+	 * @return	the packed color.
+	 */
+	public static int pack(double red, double green, double blue, double opacity) {
+		return quantize(opacity) << 24 | quantize(red) << 16 | quantize(green) << 8 | quantize(blue);
+	}
+
+	private static int quantize(double component) {
+		return (int) ((float) Theory.clamp(component, 0, 1) * 255.0F);
+	}
+
+	public static int alpha(int argb) {
+		return argb >>> 24;
+	}
+
+	public static int red(int argb) {
+		return argb >> 16 & 0xFF;
+	}
+
+	public static int green(int argb) {
+		return argb >> 8 & 0xFF;
+	}
+
+	public static int blue(int argb) {
+		return argb & 0xFF;
+	}
+}
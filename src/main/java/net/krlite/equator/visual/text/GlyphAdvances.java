@@ -0,0 +1,117 @@
+package net.krlite.equator.visual.text;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.StringVisitable;
+import net.minecraft.text.Style;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>GlyphAdvances</h1>
+ * Caches the advances of glyphs per font and boldness, so that the width of a text can be summed up glyph by glyph
+ * instead of being measured through the text renderer for every substring. The advances are in the unscaled units
+ * of the text renderer.
+ */
+public class GlyphAdvances {
+	/**
+	 * The parts of a {@link Style} which affect the advances, so that styles differing only in colors or events
+	 * share their advances.
+	 */
+	private record Face(Identifier font, boolean bold) {
+		private static Face of(Style style) {
+			return new Face(style.getFont(), style.isBold());
+		}
+
+		private Style style() {
+			return Style.EMPTY.withFont(font()).withBold(bold());
+		}
+	}
+
+	private record Glyph(int codePoint, Face face) {
+	}
+
+	private static final Map<Face, Map<Integer, Float>> ADVANCES = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Set<Glyph>> MISSING = new ThreadLocal<>();
+
+	/**
+	 * Gets the advance of the given glyph, measuring it on first use. The fonts can only be accessed on the render
+	 * thread, thus glyphs not measured yet are measured there, blocking the calling thread. Off the render thread,
+	 * glyphs should be {@link #prefetch(Runnable) prefetched} in batches instead, as {@link Paragraph#tokens()} does.
+	 * @param codePoint	the code point of the glyph.
+	 * @param style		the style of the glyph.
+	 * @return	the advance of the glyph, or {@code 0} if it is missing while {@link #prefetch(Runnable) prefetching}.
+	 * @see #prefetch(Runnable)
+	 */
+	public static float advance(int codePoint, Style style) {
+		return advance(codePoint, Face.of(style));
+	}
+
+	private static float advance(int codePoint, Face face) {
+		Map<Integer, Float> advances = ADVANCES.computeIfAbsent(face, key -> new ConcurrentHashMap<>());
+		@Nullable Float advance = advances.get(codePoint);
+
+		if (advance != null) return advance;
+
+		if (RenderSystem.isOnRenderThread()) {
+			return advances.computeIfAbsent(codePoint, key -> measure(key, face.style()));
+		}
+
+		@Nullable Set<Glyph> missing = MISSING.get();
+
+		if (missing != null) {
+			missing.add(new Glyph(codePoint, face));
+			return 0;
+		}
+
+		// Only reached for glyphs missing despite prefetching, for example right after the fonts are reloaded
+		return MinecraftClient.getInstance().submit(() -> advance(codePoint, face)).join();
+	}
+
+	/**
+	 * Runs the given action, which measures glyphs through {@link #advance(int, Style)}, off the render thread.
+	 * The glyphs not measured yet are collected and then measured on the render thread in a single task, so that the
+	 * calling thread waits for at most one frame. As the missing glyphs have no advance during the action, its results
+	 * are only valid if nothing was missing.
+	 * <br />
+	 * <br />
+	 * Must not be called while the render thread is waiting for the calling thread.
+	 * @param action	the action to run.
+	 * @return	{@code true -} if the action ran with all the glyphs measured already, so that its results are valid.
+	 * <br />	{@code false -} otherwise, or if called on the render thread, where the action doesn't run as glyphs are
+	 * 			measured as needed.
+	 */
+	public static boolean prefetch(Runnable action) {
+		if (RenderSystem.isOnRenderThread()) return false;
+
+		Set<Glyph> missing = new HashSet<>();
+		MISSING.set(missing);
+
+		try {
+			action.run();
+		} finally {
+			MISSING.remove();
+		}
+
+		if (missing.isEmpty()) return true;
+
+		MinecraftClient.getInstance().submit(() -> missing.forEach(glyph -> advance(glyph.codePoint(), glyph.face()))).join();
+		return false;
+	}
+
+	/**
+	 * Clears the cached advances, for example when the fonts change.
+	 */
+	public static void clear() {
+		ADVANCES.clear();
+	}
+
+	private static float measure(int codePoint, Style style) {
+		return MinecraftClient.getInstance().textRenderer.getTextHandler().getWidth(StringVisitable.styled(Character.toString(codePoint), style));
+	}
+}
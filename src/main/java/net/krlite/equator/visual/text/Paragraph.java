@@ -1,5 +1,6 @@
 package net.krlite.equator.visual.text;
 
+import com.mojang.blaze3d.systems.RenderSystem;
 import net.krlite.equator.base.Cyclic;
 import net.krlite.equator.math.geometry.flat.Box;
 import net.krlite.equator.math.geometry.flat.Vector;
@@ -8,13 +9,13 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.text.Style;
 import net.minecraft.text.Text;
-import org.davidmoten.text.utils.WordWrap;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -45,6 +46,76 @@ public record Paragraph(Text text, double scalar) {
 		}
 	}
 
+	/**
+	 * The wrapped lines of a paragraph.
+	 * @param lines		the lines, each carrying the formatting of the previous ones.
+	 * @param widths	the widths of the lines, measured in the font size and the scalar of the paragraph.
+	 */
+	public record Wrapped(Text[] lines, double[] widths) {
+	}
+
+	private record WrapKey(Text text, double fontSize, double scalar, double width) {
+	}
+
+	private static final int WRAP_CACHE_SIZE = 512;
+	private static final Map<WrapKey, Wrapped> WRAP_CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<WrapKey, Wrapped> eldest) {
+			return size() > WRAP_CACHE_SIZE;
+		}
+	});
+
+	private static final int TOKEN_CACHE_SIZE = 256;
+	private static final Map<Text, TextTokens> TOKEN_CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Text, TextTokens> eldest) {
+			return size() > TOKEN_CACHE_SIZE;
+		}
+	});
+
+	// Bumped on every clear, so that results computed in the background before it are not cached afterward
+	private static final AtomicInteger GENERATION = new AtomicInteger();
+
+	/**
+	 * Clears the cached tokens and wrapped lines, for example when the fonts or the language change.
+	 * @see Section#clearCache()
+	 */
+	public static void clearCache() {
+		GENERATION.incrementAndGet();
+		WRAP_CACHE.clear();
+		TOKEN_CACHE.clear();
+	}
+
+	/**
+	 * Tokenizes the texts of the given paragraphs off the render thread, measuring their missing glyphs on the render
+	 * thread in a single task. The tokens are cached if all their glyphs were measured already, so that they are
+	 * tokenized only once.
+	 * @param paragraphs	the paragraphs.
+	 * @see GlyphAdvances#prefetch(Runnable)
+	 */
+	static void prefetch(Paragraph... paragraphs) {
+		int generation = GENERATION.get();
+		Map<Text, TextTokens> tokenized = new HashMap<>();
+
+		boolean measured = GlyphAdvances.prefetch(() -> Arrays.stream(paragraphs)
+																 .filter(paragraph -> !paragraph.isSpacing() && !TOKEN_CACHE.containsKey(paragraph.text()))
+																 .forEach(paragraph -> tokenized.put(paragraph.text(), tokenize(paragraph.text()))));
+
+		if (measured) {
+			tokenized.forEach((text, tokens) -> cache(TOKEN_CACHE, text, tokens, generation));
+		}
+	}
+
+	private static TextTokens tokenize(Text text) {
+		return TextTokens.tokenize(text.getString(), text.getStyle());
+	}
+
+	private static <K, V> void cache(Map<K, V> cache, K key, V value, int generation) {
+		synchronized (cache) {
+			if (generation == GENERATION.get()) cache.put(key, value);
+		}
+	}
+
 	public static final Pattern NEWLINE_PATTERN = Pattern.compile("\\r?\\n"), FORMATTING_PATTERN = Pattern.compile("§(?<code>[0-9a-fk-or])");
 	public static final String NEWLINE = "\n";
 	public static final Paragraph EMPTY = new Paragraph("", 0);
@@ -102,66 +173,105 @@ public record Paragraph(Text text, double scalar) {
 	}
 
 	public Text[] wrap(double fontSize, double width) {
-		return isSpacing() ? new Text[] { text() } : Arrays.stream(concatFormatting(NEWLINE_PATTERN.matcher(
-				WordWrap.from(text().getString())
-						.breakWords(true)
-						.insertHyphens(false)
-						.maxWidth(width)
-						.newLine(NEWLINE)
-						.includeExtraWordChars("0123456789")
-						.includeExtraWordChars("§")
-						.includeExtraWordChars("()[]{}<>!?:;\"'.,~·")
-						.includeExtraWordChars("（）【】「」《》！？：；“”‘’、，。—～·")
-						.stringWidth(charSequence -> fontSize * scalar() * MinecraftClient.getInstance().textRenderer.getWidth(
-								Text.literal(FORMATTING_PATTERN.matcher(charSequence).replaceAll("")).setStyle(text().getStyle()))
-						).wrap()
-		).replaceAll(NEWLINE).split(NEWLINE))).map(s -> Text.literal(s).setStyle(text().getStyle())).toArray(Text[]::new);
-	}
-
-	private String[] concatFormatting(String[] lines) {
-		String[] result = new String[lines.length];
-		String currentFormatting = "";
-		for (int i = 0; i < lines.length; i++) {
-			String line = lines[i];
-			result[i] = currentFormatting + line;
-
-			Matcher matcher = FORMATTING_PATTERN.matcher(line);
-
-			while (matcher.find()) {
-				currentFormatting = matcher.group();
-			}
-		}
-		return result;
+		return wrapped(fontSize, width).lines().clone();
 	}
 
-	public int countLines(double fontSize, double width) {
-		return width <= 0 ? 0 : wrap(fontSize, width).length;
+	/**
+	 * Wraps the paragraph into lines no wider than the given width. The result is cached, as wrapping and measuring
+	 * are expensive and the same paragraph is usually wrapped several times per frame.
+	 * @param fontSize	the font size.
+	 * @param width		the maximum width of the lines.
+	 * @return	the wrapped lines with their widths. The arrays are shared and must not be modified.
+	 */
+	public Wrapped wrapped(double fontSize, double width) {
+		WrapKey key = new WrapKey(text(), fontSize, scalar(), width);
+		@Nullable Wrapped wrapped = WRAP_CACHE.get(key);
+
+		if (wrapped == null) {
+			// Computed outside the lock, as paragraphs may be wrapped in the background
+			int generation = GENERATION.get();
+			wrapped = wrapUncached(fontSize, width);
+			cache(WRAP_CACHE, key, wrapped, generation);
+		}
+
+		return wrapped;
 	}
 
-	public void render(double fontSize, double lineSpacing, Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Alignment alignment, boolean shadow) {
-		if (box.w() <= 0) return;
-		render(new LinkedList<>(Arrays.stream(wrap(fontSize, box.w())).toList()), fontSize, lineSpacing, box, context, textRenderer, color, alignment, shadow);
+	/**
+	 * @return	the tokens of the text, which are measured once and kept across wrap widths.
+	 */
+	public TextTokens tokens() {
+		@Nullable TextTokens tokens = TOKEN_CACHE.get(text());
+
+		if (tokens == null && !RenderSystem.isOnRenderThread()) {
+			// Measures the missing glyphs in a single task on the render thread rather than one by one
+			prefetch(this);
+			tokens = TOKEN_CACHE.get(text());
+		}
+
+		if (tokens == null) {
+			int generation = GENERATION.get();
+			tokens = tokenize(text());
+			cache(TOKEN_CACHE, text(), tokens, generation);
+		}
+
+		return tokens;
 	}
 
-	private void render(LinkedList<Text> lines, double fontSize, double lineSpacing, Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Alignment alignment, boolean shadow) {
-		Text line = lines.poll();
+	private Wrapped wrapUncached(double fontSize, double width) {
+		if (isSpacing()) return new Wrapped(new Text[] { text() }, new double[] { 0 });
 
-		if (line == null) return;
+		double scale = fontSize * scalar();
+		List<TextTokens.Line> lines = tokens().wrap(width / scale);
 
-		if (lines.peek() != null) {
-			lines.set(0, lines.peek().copy().styled(style -> style.withParent(line.getStyle())));
-			render(lines, fontSize, lineSpacing, box.shift(0, height(fontSize, lineSpacing)), context, textRenderer, color, alignment, shadow);
+		return new Wrapped(
+				lines.stream().map(line -> Text.literal(line.text()).setStyle(text().getStyle())).toArray(Text[]::new),
+				lines.stream().mapToDouble(line -> scale * line.width()).toArray()
+		);
+	}
+
+	public int countLines(double fontSize, double width) {
+		return width <= 0 ? 0 : wrapped(fontSize, width).lines().length;
+	}
+
+	/**
+	 * Lays out the wrapped lines of the paragraph, chaining the formatting of each line to the previous one.
+	 * @param lines			the lines to append to.
+	 * @param fontSize		the font size.
+	 * @param lineSpacing	the spacing between lines.
+	 * @param width			the width to wrap to.
+	 * @param top			the top of the first line.
+	 * @return	the bottom of the last line.
+	 */
+	double layout(List<TextLayout.Line> lines, double fontSize, double lineSpacing, double width, double top) {
+		if (width <= 0) return top;
+
+		Wrapped wrapped = wrapped(fontSize, width);
+		double lineHeight = height(fontSize, lineSpacing);
+		Text previous = null;
+
+		for (int i = 0; i < wrapped.lines().length; i++) {
+			Style parent = previous == null ? null : previous.getStyle();
+			Text line = parent == null ? wrapped.lines()[i] : wrapped.lines()[i].copy().styled(style -> style.withParent(parent));
+
+			lines.add(new TextLayout.Line(line, fontSize * scalar(), Box.fromCartesian(0, top, wrapped.widths()[i], lineHeight)));
+			top += lineHeight;
+			previous = line;
 		}
 
-		context.getMatrices().push();
+		return top;
+	}
 
-		Vector aligned = alignment.apply(box, line, textRenderer, fontSize, scalar());
-		context.getMatrices().translate(aligned.x(), aligned.y(), 0);
-		context.getMatrices().scale((float) (fontSize * scalar()), (float) (fontSize * scalar()), 1);
+	public TextLayout layout(double fontSize, double lineSpacing, double width) {
+		List<TextLayout.Line> lines = new ArrayList<>();
+		double height = layout(lines, fontSize, lineSpacing, width, 0);
 
-		context.drawText(textRenderer, line, 0, 0, color.toInt(), shadow);
+		return new TextLayout(width, height, lines.toArray(TextLayout.Line[]::new));
+	}
 
-		context.getMatrices().pop();
+	public void render(double fontSize, double lineSpacing, Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Alignment alignment, boolean shadow) {
+		if (box.w() <= 0) return;
+		layout(fontSize, lineSpacing, box.w()).render(box, context, textRenderer, color, Section.Alignment.TOP, alignment, shadow);
 	}
 
 	private void print(String text, boolean withFormattingPattern) {
@@ -1,15 +1,22 @@
 package net.krlite.equator.visual.text;
 
+import net.krlite.equator.Equator;
 import net.krlite.equator.base.Cyclic;
 import net.krlite.equator.math.geometry.flat.Box;
 import net.krlite.equator.visual.color.AccurateColor;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.resource.SynchronousResourceReloader;
 import net.minecraft.text.Text;
-
-import java.util.Arrays;
-import java.util.LinkedList;
+import net.minecraft.util.Util;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
@@ -49,6 +56,50 @@ public record Section(
 		}
 	}
 
+	private record ContentKey(List<Paragraph> paragraphs, double fontSize, double lineSpacing) {
+	}
+
+	private record LayoutKey(ContentKey content, double width) {
+	}
+
+	private static final int LAYOUT_CACHE_SIZE = 128, BACKGROUND_THRESHOLD = 4096;
+	private static final Map<LayoutKey, TextLayout> LAYOUT_CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LayoutKey, TextLayout> eldest) {
+			return size() > LAYOUT_CACHE_SIZE;
+		}
+	});
+	private static final Map<ContentKey, TextLayout> LATEST_LAYOUTS = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ContentKey, TextLayout> eldest) {
+			return size() > LAYOUT_CACHE_SIZE;
+		}
+	});
+	private static final Map<LayoutKey, CompletableFuture<TextLayout>> PENDING_LAYOUTS = new ConcurrentHashMap<>();
+	// The times the layouts failed in the background at, so that they are retried only after a while
+	private static final Map<LayoutKey, Long> FAILED_LAYOUTS = new ConcurrentHashMap<>();
+	private static final long RETRY_DELAY = 5000;
+	// Bumped on every clear, so that layouts finished in the background before it are not cached afterward
+	private static final AtomicInteger GENERATION = new AtomicInteger();
+
+	/**
+	 * Clears the cached layouts, wrapped lines and glyph advances, for example when the fonts or the language change.
+	 * Layouts still in progress in the background are discarded when they finish.
+	 */
+	public static void clearCache() {
+		GENERATION.incrementAndGet();
+		PENDING_LAYOUTS.clear();
+		FAILED_LAYOUTS.clear();
+		LAYOUT_CACHE.clear();
+		LATEST_LAYOUTS.clear();
+		Paragraph.clearCache();
+		GlyphAdvances.clear();
+	}
+
+	public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+		event.registerReloadListener((SynchronousResourceReloader) resourceManager -> clearCache());
+	}
+
 	public static final Section DEFAULT = new Section();
 
 	public static Section build(UnaryOperator<Section> builder) {
@@ -115,7 +166,7 @@ public record Section(
 	}
 
 	public double wrappedHeight(double width) {
-		return isEmpty() ? 0 : Arrays.stream(paragraphs()).mapToDouble(paragraph -> paragraph.wrappedHeight(fontSize(), lineSpacing(), width)).sum();
+		return layout(width).height();
 	}
 
 	private Section appendParagraphRaw(Paragraph paragraph) {
@@ -233,21 +284,129 @@ public record Section(
 		return appendTitle(Text.of(text));
 	}
 
-	public void render(Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Alignment vertical, Paragraph.Alignment horizontal, boolean shadow) {
-		render(new LinkedList<>(Arrays.stream(paragraphs()).toList()), vertical.apply(box, wrappedHeight(box.w())), context, textRenderer, color, vertical, horizontal, shadow);
+	/**
+	 * Lays out the section wrapped to the given width. The layouts are cached, so laying out the same section again is
+	 * cheap.
+	 * @param width		the width to wrap to.
+	 * @param fontSize	the font size.
+	 * @return	the layout of the section.
+	 */
+	public TextLayout layout(double width, double fontSize) {
+		if (isEmpty() || width <= 0) return new TextLayout(Math.max(0, width), 0, new TextLayout.Line[0]);
+
+		LayoutKey key = layoutKey(width, fontSize);
+		@Nullable TextLayout layout = LAYOUT_CACHE.get(key);
+
+		if (layout == null) {
+			// Computed outside the lock, as sections may be laid out in the background
+			int generation = GENERATION.get();
+			List<TextLayout.Line> lines = new ArrayList<>();
+			double height = 0;
+
+			for (Paragraph paragraph : paragraphs()) {
+				height = paragraph.layout(lines, fontSize, lineSpacing(), width, height);
+			}
+
+			layout = new TextLayout(width, height, lines.toArray(TextLayout.Line[]::new));
+
+			synchronized (LAYOUT_CACHE) {
+				// Discarded if the caches were cleared meanwhile, as it may be measured with outdated fonts
+				if (generation == GENERATION.get()) {
+					LAYOUT_CACHE.put(key, layout);
+					LATEST_LAYOUTS.put(key.content(), layout);
+				}
+			}
+		}
+
+		return layout;
+	}
+
+	/**
+	 * Lays out the section on a worker thread. The glyphs not measured yet are measured on the render thread in a
+	 * single task, thus the returned future must not be waited for on the render thread.
+	 * @param width		the width to wrap to.
+	 * @param fontSize	the font size.
+	 * @return	the future layout, which is completed already if the layout is cached.
+	 */
+	public CompletableFuture<TextLayout> layoutAsync(double width, double fontSize) {
+		LayoutKey key = layoutKey(width, fontSize);
+		@Nullable TextLayout cached = LAYOUT_CACHE.get(key);
+
+		if (cached != null) return CompletableFuture.completedFuture(cached);
+
+		// Claimed atomically, so that a layout is started only once
+		CompletableFuture<TextLayout> future = new CompletableFuture<>();
+		@Nullable CompletableFuture<TextLayout> pending = PENDING_LAYOUTS.putIfAbsent(key, future);
+		if (pending != null) return pending;
+
+		CompletableFuture.supplyAsync(() -> {
+			Paragraph.prefetch(paragraphs());
+			return layout(width, fontSize);
+		}, Util.getMainWorkerExecutor()).whenComplete((layout, throwable) -> {
+			PENDING_LAYOUTS.remove(key, future);
+
+			if (throwable != null) {
+				Equator.LOGGER.error("Failed to lay out a section in the background", throwable);
+				FAILED_LAYOUTS.put(key, Util.getMeasuringTimeMs());
+				future.completeExceptionally(throwable);
+			} else {
+				future.complete(layout);
+			}
+		});
+
+		return future;
 	}
 
-	private void render(LinkedList<Paragraph> paragraphs, Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Alignment vertical, Paragraph.Alignment horizontal, boolean shadow) {
-		Paragraph paragraph = paragraphs.poll();
+	/**
+	 * Lays out the section without blocking the render thread for long. Large sections are laid out in the
+	 * {@link #layoutAsync(double, double) background}: until the layout is ready, the latest layout of the section
+	 * at any width is returned, or a placeholder without lines, as tall as the unwrapped section. The finished
+	 * layout replaces it atomically.
+	 * @param width		the width to wrap to.
+	 * @return	the layout of the section, or the latest one if it is not ready yet.
+	 */
+	public TextLayout layoutOrLatest(double width) {
+		if (isEmpty() || width <= 0) return layout(width);
+
+		LayoutKey key = layoutKey(width, fontSize());
+		@Nullable TextLayout cached = LAYOUT_CACHE.get(key);
 
-		if (paragraph == null) return;
+		if (cached != null) return cached;
+		if (length() < BACKGROUND_THRESHOLD) return layout(width);
 
-		if (paragraphs.peek() != null) {
-			render(paragraphs, box.shift(0, paragraph.wrappedHeight(fontSize(), lineSpacing(), box.w())),
-					context, textRenderer, color, vertical, horizontal, shadow);
+		@Nullable Long failed = FAILED_LAYOUTS.get(key);
+
+		if (failed == null || Util.getMeasuringTimeMs() - failed >= RETRY_DELAY) {
+			FAILED_LAYOUTS.remove(key);
+			layoutAsync(width, fontSize());
 		}
 
-		paragraph.render(fontSize(), lineSpacing(), box, context, textRenderer, color, horizontal, shadow);
+		@Nullable TextLayout latest = LATEST_LAYOUTS.get(key.content());
+		return latest != null ? latest : new TextLayout(width, height(), new TextLayout.Line[0]);
+	}
+
+	/**
+	 * @return	a key comparing the content of the section by value, which covers everything its layouts depend on
+	 * 			except the width.
+	 */
+	public Object contentKey() {
+		return new ContentKey(List.of(paragraphs()), fontSize(), lineSpacing());
+	}
+
+	private LayoutKey layoutKey(double width, double fontSize) {
+		return new LayoutKey(new ContentKey(List.of(paragraphs()), fontSize, lineSpacing()), width);
+	}
+
+	private int length() {
+		return Arrays.stream(paragraphs()).mapToInt(paragraph -> paragraph.text().getString().length()).sum();
+	}
+
+	public TextLayout layout(double width) {
+		return layout(width, fontSize());
+	}
+
+	public void render(Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Alignment vertical, Paragraph.Alignment horizontal, boolean shadow) {
+		layout(box.w()).render(box, context, textRenderer, color, vertical, horizontal, shadow);
 	}
 
 	public void print(boolean withFormattingPattern) {
@@ -0,0 +1,152 @@
+package net.krlite.equator.visual.text;
+
+import net.krlite.equator.math.algebra.Theory;
+import net.krlite.equator.math.geometry.flat.Box;
+import net.krlite.equator.math.geometry.flat.Vector;
+import net.krlite.equator.visual.color.AccurateColor;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.LightmapTextureManager;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <h1>TextLayout</h1>
+ * The lines of a {@link Section} wrapped to a width, measured and positioned once, so that the section can be
+ * rendered and measured repeatedly without wrapping again.
+ * @param width		the width the section is wrapped to.
+ * @param height	the total height of the lines.
+ * @param lines		the lines in reading order. Their offsets increase, forming a prefix sum of the line heights which
+ *                  is binary searched to find the visible lines.
+ * @see Section#layout(double, double)
+ */
+public record TextLayout(double width, double height, Line[] lines) {
+	public static final TextLayout EMPTY = new TextLayout(0, 0, new Line[0]);
+
+	/**
+	 * A wrapped line.
+	 * @param text	the text of the line, carrying the formatting of the previous lines of its paragraph.
+	 * @param scale	the font size multiplied by the scalar of the paragraph.
+	 * @param box	the box of the line relative to the top left of the layout, sized to the measured width of the text
+	 *              and the height of the line.
+	 */
+	public record Line(Text text, double scale, Box box) {
+		/**
+		 * Gets the top left of the aligned text, relative to the top left of the layout.
+		 * @param alignment	the horizontal alignment.
+		 * @param width		the width of the layout.
+		 * @return	the position to draw the text at.
+		 */
+		public Vector position(Paragraph.Alignment alignment, double width) {
+			return switch (alignment) {
+				case LEFT -> box().topLeft();
+				case CENTER -> box().topLeft().add((width - box().w()) / 2, 0);
+				case RIGHT -> box().topLeft().add(width - box().w(), 0);
+			};
+		}
+	}
+
+	// width() is a record method
+
+	// height() is a record method
+
+	// lines() is a record method
+
+	public boolean isEmpty() {
+		return lines().length == 0;
+	}
+
+	/**
+	 * @return	the index of the first line whose bottom is below the given offset, or the count of the lines if none.
+	 */
+	public int firstLineBelow(double offset) {
+		int low = 0, high = lines().length - 1, found = lines().length;
+
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+
+			if (lines()[middle].box().bottom() > offset) {
+				found = middle;
+				high = middle - 1;
+			} else {
+				low = middle + 1;
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Renders the lines.
+	 * @param box			the box to render in. The lines are wrapped to the width of the layout, not of the box.
+	 * @param context		the draw context.
+	 * @param textRenderer	the text renderer.
+	 * @param color			the color of the text.
+	 * @param vertical		the vertical alignment of the lines in the box.
+	 * @param horizontal	the horizontal alignment of each line.
+	 * @param shadow		whether to draw the shadow.
+	 */
+	public void render(Box box, DrawContext context, TextRenderer textRenderer, AccurateColor color, Section.Alignment vertical, Paragraph.Alignment horizontal, boolean shadow) {
+		render(box, null, context, textRenderer, color, vertical, horizontal, shadow);
+	}
+
+	/**
+	 * Renders only the lines intersecting the visible region vertically. The lines are found by binary searching their
+	 * offsets, so that long layouts cost only as much as the lines actually visible.
+	 * @param box			the box to render in. The lines are wrapped to the width of the layout, not of the box.
+	 * @param visible		the visible region in the same coordinate as the box, or {@code null} to render all the lines.
+	 * @param context		the draw context.
+	 * @param textRenderer	the text renderer.
+	 * @param color			the color of the text.
+	 * @param vertical		the vertical alignment of the lines in the box.
+	 * @param horizontal	the horizontal alignment of each line.
+	 * @param shadow		whether to draw the shadow.
+	 */
+	public void render(Box box, @Nullable Box visible, DrawContext context, TextRenderer textRenderer, AccurateColor color, Section.Alignment vertical, Paragraph.Alignment horizontal, boolean shadow) {
+		emit(box, visible, context.getMatrices(), context.getVertexConsumers(), textRenderer, color, vertical, horizontal, shadow);
+		context.draw();
+	}
+
+	/**
+	 * Emits the glyph quads of the lines into the given vertex consumers without drawing them, so that they can be
+	 * captured, for example into a {@link net.krlite.equator.render.base.GlyphMesh}.
+	 * @param box				the box to render in. The lines are wrapped to the width of the layout, not of the box.
+	 * @param visible			the visible region in the same coordinate as the box, or {@code null} to emit all the lines.
+	 * @param matrixStack		the matrix stack the quads are transformed by.
+	 * @param vertexConsumers	the vertex consumers to emit into.
+	 * @param textRenderer		the text renderer.
+	 * @param color				the color of the text.
+	 * @param vertical			the vertical alignment of the lines in the box.
+	 * @param horizontal		the horizontal alignment of each line.
+	 * @param shadow			whether to emit the shadow.
+	 */
+	public void emit(Box box, @Nullable Box visible, MatrixStack matrixStack, VertexConsumerProvider vertexConsumers, TextRenderer textRenderer, AccurateColor color, Section.Alignment vertical, Paragraph.Alignment horizontal, boolean shadow) {
+		Box aligned = vertical.apply(box, height());
+		int argb = color.toInt();
+		int first = 0, last = lines().length;
+
+		if (visible != null) {
+			first = firstLineBelow(visible.top() - aligned.top());
+			last = firstLineBelow(visible.bottom() - aligned.top() + Theory.EPSILON);
+			last = Math.min(lines().length, last + 1); // Includes the line crossing the bottom
+		}
+
+		for (int i = first; i < last; i++) {
+			Line line = lines()[i];
+			Vector position = aligned.topLeft().add(line.position(horizontal, width()));
+
+			matrixStack.push();
+			matrixStack.translate(position.x(), position.y(), 0);
+			matrixStack.scale((float) line.scale(), (float) line.scale(), 1);
+
+			textRenderer.draw(
+					line.text(), 0, 0, argb, shadow, matrixStack.peek().getPositionMatrix(),
+					vertexConsumers, TextRenderer.TextLayerType.NORMAL, 0, LightmapTextureManager.MAX_LIGHT_COORDINATE
+			);
+
+			matrixStack.pop();
+		}
+	}
+}
@@ -0,0 +1,308 @@
+package net.krlite.equator.visual.text;
+
+import net.minecraft.text.Style;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h1>TextTokens</h1>
+ * A text split into words, spaces and line breaks in one pass, honoring the {@code §} formatting codes. Every
+ * character is measured once through the {@link GlyphAdvances} of its style, and the widths are kept as prefix sums,
+ * so that the width of any substring is a subtraction. Wrapping to any width reuses the measured tokens.
+ * <br />
+ * <br />
+ * The formatting codes are zero-width and belong to the words they precede. Ideographs, such as Chinese and Japanese
+ * characters, form a word each, so that lines can be broken between them.
+ */
+public final class TextTokens {
+	enum Kind {
+		WORD, SPACE, NEWLINE
+	}
+
+	/**
+	 * A wrapped line.
+	 * @param text	the text of the line, prefixed with the formatting codes active at its start.
+	 * @param width	the width of the line, in the unscaled units of the text renderer.
+	 */
+	public record Line(String text, double width) {
+	}
+
+	/**
+	 * Measures the advance of a glyph.
+	 */
+	@FunctionalInterface
+	interface Advances {
+		float advance(int codePoint, Style style);
+	}
+
+	/**
+	 * Tokenizes the given text.
+	 * @param text	the text, which may contain formatting codes.
+	 * @param style	the style the text starts with.
+	 * @return	the tokens of the text.
+	 */
+	public static TextTokens tokenize(String text, Style style) {
+		return tokenize(text, style, GlyphAdvances::advance);
+	}
+
+	static TextTokens tokenize(String text, Style style, Advances advances) {
+		int length = text.length();
+		double[] prefix = new double[length + 1];
+		List<Integer> starts = new ArrayList<>(), formattingIndices = new ArrayList<>();
+		List<Kind> kinds = new ArrayList<>();
+		List<String> formattingStates = new ArrayList<>();
+
+		Style current = style;
+		String active = "";
+		Kind kind = null;
+		boolean visible = false; // Whether the current word has a visible character
+
+		for (int i = 0; i < length; ) {
+			char c = text.charAt(i);
+
+			if (c == '§' && i + 1 < length) {
+				Formatting formatting = Formatting.byCode(text.charAt(i + 1));
+
+				if (formatting == Formatting.RESET) {
+					current = style;
+					active = "";
+				} else if (formatting != null) {
+					current = current.withExclusiveFormatting(formatting);
+					active = formatting.isColor() ? formatting.toString() : active + formatting;
+				}
+
+				if (kind != Kind.WORD) {
+					starts.add(i);
+					kinds.add(kind = Kind.WORD);
+					visible = false;
+				}
+
+				prefix[i + 1] = prefix[i + 2] = prefix[i];
+				formattingIndices.add(i + 2);
+				formattingStates.add(active);
+				i += 2;
+				continue;
+			}
+
+			int charCount = c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n' ? 2 : Character.charCount(text.codePointAt(i));
+
+			if (c == '\n' || charCount == 2 && c == '\r') {
+				starts.add(i);
+				kinds.add(kind = Kind.NEWLINE);
+				prefix[i + 1] = prefix[i];
+				if (charCount == 2) prefix[i + 2] = prefix[i];
+				i += charCount;
+				continue;
+			}
+
+			int codePoint = text.codePointAt(i);
+			Kind next = Character.isWhitespace(codePoint) ? Kind.SPACE : Kind.WORD;
+
+			if (next != kind || kind == Kind.NEWLINE || (next == Kind.WORD && visible && isIdeograph(codePoint))) {
+				starts.add(i);
+				kinds.add(kind = next);
+				visible = false;
+			}
+
+			double advance = advances.advance(codePoint, current);
+			prefix[i + 1] = prefix[i] + (charCount == 1 ? advance : 0);
+			if (charCount == 2) prefix[i + 2] = prefix[i] + advance;
+
+			visible = visible || next == Kind.WORD;
+			i += charCount;
+		}
+
+		return new TextTokens(
+				text, prefix, starts.stream().mapToInt(Integer::intValue).toArray(), kinds.toArray(Kind[]::new),
+				formattingIndices.stream().mapToInt(Integer::intValue).toArray(), formattingStates.toArray(String[]::new)
+		);
+	}
+
+	private static boolean isIdeograph(int codePoint) {
+		Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+		return Character.isIdeographic(codePoint) || script == Character.UnicodeScript.HIRAGANA || script == Character.UnicodeScript.KATAKANA;
+	}
+
+	// Constructors
+
+	private TextTokens(String text, double[] prefix, int[] starts, Kind[] kinds, int[] formattingIndices, String[] formattingStates) {
+		this.text = text;
+		this.prefix = prefix;
+		this.starts = starts;
+		this.kinds = kinds;
+		this.formattingIndices = formattingIndices;
+		this.formattingStates = formattingStates;
+
+		this.nextNewlines = new int[kinds.length];
+		for (int token = kinds.length - 1, next = kinds.length; token >= 0; token--) {
+			if (kinds[token] == Kind.NEWLINE) next = token;
+			nextNewlines[token] = next;
+		}
+	}
+
+	// Fields
+
+	private final String text;
+	private final double[] prefix;
+	private final int[] starts;
+	private final Kind[] kinds;
+	private final int[] formattingIndices;
+	private final String[] formattingStates;
+	private final int[] nextNewlines;
+
+	// Accessors
+
+	public String text() {
+		return text;
+	}
+
+	public int size() {
+		return kinds.length;
+	}
+
+	// Properties
+
+	/**
+	 * @return	the width of the whole text, in the unscaled units of the text renderer.
+	 */
+	public double width() {
+		return prefix[text.length()];
+	}
+
+	/**
+	 * @return	the width of the characters in {@code [start, end)}, in the unscaled units of the text renderer.
+	 */
+	public double width(int start, int end) {
+		return prefix[end] - prefix[start];
+	}
+
+	int start(int token) {
+		return starts[token];
+	}
+
+	int end(int token) {
+		return token + 1 < starts.length ? starts[token + 1] : text.length();
+	}
+
+	Kind kind(int token) {
+		return kinds[token];
+	}
+
+	/**
+	 * @return	the formatting codes active at the given index, which a line starting there needs to carry.
+	 */
+	public String formatting(int index) {
+		int found = Arrays.binarySearch(formattingIndices, index);
+		int last = found >= 0 ? found : -found - 2;
+
+		return last < 0 ? "" : formattingStates[last];
+	}
+
+	/**
+	 * Wraps the text into lines no wider than the given width. Spaces around the breaks are dropped, and words wider
+	 * than a line are broken between characters.
+	 * <br />
+	 * <br />
+	 * As the widths are already measured, only the break positions are computed: the end of each line is binary
+	 * searched over the prefix widths. Wrapping the same tokens to another width is therefore cheap, for example while
+	 * a box is being resized.
+	 * @param maxWidth	the maximum width of the lines, in the unscaled units of the text renderer.
+	 * @return	the lines with their widths.
+	 */
+	public List<Line> wrap(double maxWidth) {
+		List<Line> lines = new ArrayList<>();
+		int token = 0, lineStart = -1, filled = 0;
+
+		while (token < size()) {
+			if (lineStart < 0) {
+				if (kind(token) == Kind.NEWLINE) lines.add(new Line(formatting(start(token)), 0));
+				if (kind(token) != Kind.WORD) {
+					token++;
+					continue;
+				}
+
+				lineStart = start(token);
+			}
+
+			int last = furthest(token, lineStart, maxWidth);
+
+			if (last < 0) {
+				// The first word doesn't fit
+				int split = split(lineStart, end(token), maxWidth);
+
+				if (split < end(token)) {
+					lines.add(line(lineStart, split));
+					lineStart = split;
+					continue;
+				}
+
+				last = token;
+			}
+
+			lines.add(line(lineStart, end(last)));
+			filled = lines.size();
+			lineStart = -1;
+			token = last + 1;
+
+			while (token < size() && kind(token) == Kind.SPACE) token++;
+			if (token < size() && kind(token) == Kind.NEWLINE) token++; // Ends the line just added
+		}
+
+		// Trailing empty lines are dropped, as splitting a string does
+		if (lines.size() > Math.max(1, filled)) {
+			lines.subList(Math.max(1, filled), lines.size()).clear();
+		}
+
+		if (lines.isEmpty()) {
+			lines.add(new Line("", 0));
+		}
+
+		return lines;
+	}
+
+	/**
+	 * @return	the last word before the next line break, starting from the given token, which still fits in a line
+	 * 			starting at the given index, or {@code -1} if even the given token doesn't fit.
+	 */
+	private int furthest(int token, int lineStart, double maxWidth) {
+		int low = token, high = nextNewlines[token] - 1, found = -1;
+		double limit = prefix[lineStart] + maxWidth;
+
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+
+			if (prefix[end(middle)] <= limit) {
+				found = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		while (found >= token && kind(found) != Kind.WORD) found--;
+
+		return found < token ? -1 : found;
+	}
+
+	private Line line(int start, int end) {
+		return new Line(formatting(start) + text.substring(start, end), width(start, end));
+	}
+
+	/**
+	 * @return	the furthest index in {@code (start, end]} at which the characters from the start still fit the width,
+	 * 			keeping at least one character, surrogate pairs and formatting codes together.
+	 */
+	int split(int start, int end, double maxWidth) {
+		int split = start + 1;
+
+		while (split < end && width(start, split + 1) <= maxWidth) split++;
+
+		if (split < end && Character.isLowSurrogate(text.charAt(split))) split++;
+		if (split < end && text.charAt(split - 1) == '§') split++;
+
+		return split;
+	}
+}
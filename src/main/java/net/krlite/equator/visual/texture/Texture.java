@@ -7,6 +7,7 @@ import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFWImage;
 
 import java.nio.ByteBuffer;
+import java.util.Objects;
 import java.util.function.UnaryOperator;
 
 public class Texture {
@@ -184,4 +185,18 @@ public class Texture {
 	public int getGlId() {
 		return RenderManager.getGlId(identifier());
 	}
+
+	@Override
+	public boolean equals(Object another) {
+		if (this == another) return true;
+		if (!(another instanceof Texture texture)) return false;
+
+		return identifier().equals(texture.identifier()) && uvBox().equals(texture.uvBox())
+					   && flippedX() == texture.flippedX() && flippedY() == texture.flippedY();
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(identifier(), uvBox(), flippedX(), flippedY());
+	}
 }
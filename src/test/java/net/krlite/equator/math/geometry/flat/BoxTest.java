@@ -0,0 +1,38 @@
+package net.krlite.equator.math.geometry.flat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoxTest {
+	private static final Box BOX = Box.fromCartesian(0, 0, 10, 10);
+
+	@Test
+	void intersectsOverlappingBoxes() {
+		assertTrue(BOX.intersects(Box.fromCartesian(5, 5, 10, 10)));
+		assertTrue(BOX.intersects(Box.fromCartesian(2, 2, 4, 4))); // Contained
+		assertTrue(Box.fromCartesian(-5, -5, 20, 20).intersects(BOX)); // Containing
+	}
+
+	@Test
+	void intersectsTouchingBoxes() {
+		// The boxes share an edge or a corner
+		assertTrue(BOX.intersects(Box.fromCartesian(10, 0, 10, 10)));
+		assertTrue(BOX.intersects(Box.fromCartesian(0, -10, 10, 10)));
+		assertTrue(BOX.intersects(Box.fromCartesian(10, 10, 5, 5)));
+	}
+
+	@Test
+	void doesNotIntersectDisjointBoxes() {
+		assertFalse(BOX.intersects(Box.fromCartesian(11, 0, 10, 10)));
+		assertFalse(BOX.intersects(Box.fromCartesian(0, -11, 10, 10)));
+		assertFalse(BOX.intersects(Box.fromCartesian(-20, 20, 5, 5)));
+	}
+
+	@Test
+	void doesNotIntersectEmptyBoxes() {
+		assertFalse(BOX.intersects(Box.fromCartesian(5, 5, 0, 0)));
+		assertFalse(Box.fromCartesian(5, 5, 0, 3).intersects(BOX));
+	}
+}
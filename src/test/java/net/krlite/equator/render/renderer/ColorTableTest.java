@@ -0,0 +1,79 @@
+package net.krlite.equator.render.renderer;
+
+import net.krlite.equator.visual.color.Palette;
+import net.krlite.equator.visual.color.base.ColorStandard;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColorTableTest {
+	private static final double EPSILON = 1e-9;
+
+	@Test
+	void wrapsNegativeOffsetsBeforeSorting() {
+		Flat.Oval.ColorTable table = new Flat.Oval.ColorTable(Map.of(-1.0, Palette.RED, 1.0, Palette.BLUE));
+
+		List<Double> offsets = List.copyOf(table.colors().keySet());
+
+		assertEquals(2, offsets.size());
+		assertEquals(1, offsets.get(0), EPSILON);
+		assertEquals(2 * Math.PI - 1, offsets.get(1), EPSILON);
+
+		// Between the negative offset, wrapped to the end, and the first offset of the next turn
+		assertEquals(Palette.RED, table.previous(6).getValue());
+		assertEquals(Palette.BLUE, table.next(6).getValue());
+		assertEquals(Palette.BLUE, table.previous(3).getValue());
+		assertEquals(Palette.RED, table.next(3).getValue());
+	}
+
+	@Test
+	void wrapsOffsetsBeyondFullTurn() {
+		Flat.Oval.ColorTable table = new Flat.Oval.ColorTable(Map.of(2 * Math.PI + 2, Palette.RED, 1.0, Palette.BLUE));
+
+		assertEquals(2, table.colors().size());
+		assertEquals(1.0, table.previous(1.5).getKey(), EPSILON);
+		assertEquals(2.0, table.next(1.5).getKey(), EPSILON);
+		assertEquals(Palette.RED, table.next(1.5).getValue());
+	}
+
+	@Test
+	void mergesOffsetsWrappingOntoTheSameOne() {
+		Flat.Oval.ColorTable table = new Flat.Oval.ColorTable(Map.of(0.0, Palette.RED))
+											 .putColor(2 * Math.PI, Palette.BLUE)
+											 .putColor(-2 * Math.PI, Palette.GREEN);
+
+		assertEquals(1, table.colors().size());
+		assertEquals(0, table.colors().keySet().iterator().next(), EPSILON);
+	}
+
+	@Test
+	void samplesRgbaQuadruplesOverAFullTurn() {
+		Flat.Oval.ColorTable table = new Flat.Oval.ColorTable(Map.of(0.0, Palette.RED, Math.PI, Palette.BLUE));
+		float[] samples = table.sample(64, ColorStandard.MixMode.BLEND);
+
+		assertEquals(64 * 4, samples.length);
+		assertArrayEquals(new float[] { 1, 0, 0, 1 }, new float[] { samples[0], samples[1], samples[2], samples[3] });
+		assertArrayEquals(new float[] { 0, 0, 1, 1 }, new float[] { samples[32 * 4], samples[32 * 4 + 1], samples[32 * 4 + 2], samples[32 * 4 + 3] });
+	}
+
+	@Test
+	void samplesEmptyTablesAsTransparentBlack() {
+		assertArrayEquals(new float[8], new Flat.Oval.ColorTable().sample(2, ColorStandard.MixMode.BLEND));
+	}
+
+	@Test
+	void reusesTheLatestSamples() {
+		Flat.Oval.ColorTable table = new Flat.Oval.ColorTable(Map.of(0.0, Palette.RED));
+		float[] samples = table.sample(16, ColorStandard.MixMode.BLEND);
+
+		assertSame(samples, table.sample(16, ColorStandard.MixMode.BLEND));
+		assertNotSame(samples, table.sample(16, ColorStandard.MixMode.PIGMENT));
+		assertNotSame(samples, table.sample(32, ColorStandard.MixMode.PIGMENT));
+	}
+}
@@ -0,0 +1,38 @@
+package net.krlite.equator.visual.color;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PackedColorTest {
+	@Test
+	void packsChannelsAsArgb() {
+		assertEquals(0xFFFF0000, PackedColor.pack(1, 0, 0, 1));
+		assertEquals(0x7F000000, PackedColor.pack(0, 0, 0, 0.5));
+	}
+
+	@Test
+	void clampsAndTruncatesChannels() {
+		// Quantized as vertex consumers quantize float colors: (int) (component * 255)
+		assertEquals(0x7FFF007F, PackedColor.pack(2, -1, 0.5, 0.5));
+	}
+
+	@Test
+	void unpacksChannels() {
+		int argb = 0x80FF4001;
+
+		assertEquals(0x80, PackedColor.alpha(argb));
+		assertEquals(0xFF, PackedColor.red(argb));
+		assertEquals(0x40, PackedColor.green(argb));
+		assertEquals(0x01, PackedColor.blue(argb));
+	}
+
+	@Test
+	void packsAccurateColorsOnce() {
+		AccurateColor color = new AccurateColor(1, 0.5, 0, 0.5);
+
+		assertEquals(PackedColor.pack(1, 0.5, 0, 0.5), color.argb());
+		assertEquals(color.argb(), color.argb());
+		assertEquals(0, new AccurateColor(0, 0).argb());
+	}
+}
@@ -0,0 +1,148 @@
+package net.krlite.equator.visual.text;
+
+import net.minecraft.text.Style;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextTokensTest {
+	private static final double EPSILON = 1e-9;
+
+	// Every glyph advances by 1, or by 2 if bold
+	private static TextTokens tokenize(String text) {
+		return TextTokens.tokenize(text, Style.EMPTY, (codePoint, style) -> style.isBold() ? 2 : 1);
+	}
+
+	private static List<String> texts(List<TextTokens.Line> lines) {
+		return lines.stream().map(TextTokens.Line::text).toList();
+	}
+
+	@Test
+	void measuresFormattingCodesAsZeroWidth() {
+		TextTokens tokens = tokenize("§lab §rc");
+
+		assertEquals(3, tokens.size());
+		assertEquals(2 + 2 + 2 + 1, tokens.width(), EPSILON); // The space after the bold word is bold as well
+	}
+
+	@Test
+	void carriesFormattingOverToWrappedLines() {
+		List<TextTokens.Line> lines = tokenize("§cred §lwords here").wrap(10);
+
+		assertEquals(List.of("§cred", "§c§lwords", "§c§lhere"), texts(lines));
+		assertEquals(3, lines.get(0).width(), EPSILON);
+		assertEquals(10, lines.get(1).width(), EPSILON);
+	}
+
+	@Test
+	void resetsFormattingOnColorCodes() {
+		TextTokens tokens = tokenize("§l§ca b");
+
+		assertEquals("§c", tokens.formatting(tokens.text().length()));
+	}
+
+	@Test
+	void splitsIdeographsIntoWords() {
+		TextTokens tokens = tokenize("你好世界");
+
+		assertEquals(4, tokens.size());
+		assertEquals(List.of("你好", "世界"), texts(tokens.wrap(2)));
+	}
+
+	@Test
+	void splitsOverlongWords() {
+		assertEquals(List.of("abc", "def", "gh"), texts(tokenize("abcdefgh").wrap(3)));
+	}
+
+	@Test
+	void keepsSurrogatePairsTogetherWhenSplitting() {
+		String emoji = new String(Character.toChars(0x1F600));
+
+		assertEquals(List.of(emoji, emoji), texts(tokenize(emoji + emoji).wrap(0.5)));
+	}
+
+	@Test
+	void keepsBlankLinesBetweenParagraphs() {
+		assertEquals(List.of("a", "", "b"), texts(tokenize("a\n\nb").wrap(10)));
+		assertEquals(List.of("a", "b"), texts(tokenize("a\r\nb").wrap(10)));
+	}
+
+	@Test
+	void dropsTrailingBlankLines() {
+		assertEquals(List.of("a"), texts(tokenize("a\n\n").wrap(10)));
+		assertEquals(List.of(""), texts(tokenize("").wrap(10)));
+	}
+
+	@Test
+	void dropsSpacesAroundBreaks() {
+		List<TextTokens.Line> lines = tokenize("  aa   bb  ").wrap(3);
+
+		assertEquals(List.of("aa", "bb"), texts(lines));
+		assertEquals(2, lines.get(1).width(), EPSILON);
+	}
+
+	@Test
+	void breaksLinesNoLaterThanTheNewlines() {
+		assertEquals(List.of("aa bb", "cc dd"), texts(tokenize("aa bb\ncc dd").wrap(100)));
+		assertEquals(List.of("a b", "c d", "e f"), texts(tokenize("a b c d e f").wrap(3)));
+	}
+
+	@Test
+	void wrapsLikeGreedyWrapping() {
+		Random random = new Random(20231018);
+
+		for (int round = 0; round < 500; round++) {
+			int maxWidth = 3 + random.nextInt(10);
+			List<String> paragraphs = new ArrayList<>();
+
+			for (int p = random.nextInt(4); p >= 0; p--) {
+				List<String> words = new ArrayList<>();
+
+				for (int w = random.nextInt(12); w > 0; w--) {
+					words.add("x".repeat(1 + random.nextInt(3)));
+				}
+
+				paragraphs.add(String.join(" ", words));
+			}
+
+			String text = String.join("\n", paragraphs);
+			assertEquals(greedy(paragraphs, maxWidth), texts(tokenize(text).wrap(maxWidth)), text + " wrapped to " + maxWidth);
+		}
+	}
+
+	// Fills every line with as many words as fit, one at a time
+	private static List<String> greedy(List<String> paragraphs, int maxWidth) {
+		List<String> lines = new ArrayList<>();
+		int filled = 0;
+
+		for (String paragraph : paragraphs) {
+			if (paragraph.isEmpty()) {
+				lines.add("");
+				continue;
+			}
+
+			StringBuilder line = new StringBuilder();
+
+			for (String word : paragraph.split(" ")) {
+				if (line.length() > 0 && line.length() + 1 + word.length() > maxWidth) {
+					lines.add(line.toString());
+					line.setLength(0);
+				}
+
+				if (line.length() > 0) line.append(' ');
+				line.append(word);
+			}
+
+			lines.add(line.toString());
+			filled = lines.size();
+		}
+
+		// Trailing blank lines are dropped
+		lines.subList(Math.max(1, filled), lines.size()).clear();
+		return lines.isEmpty() ? List.of("") : lines;
+	}
+}